@@ -1,20 +1,31 @@
+import java.util.List;
+
 import main.Building;
+import main.DestinationDispatchScheduler;
 import main.Direction;
+import main.ElevatorSimulator;
+import main.HallCall;
+import main.TrafficGenerator;
+import main.TrafficLearner;
 
 
 public class App {
-    public static void main(String[] args) {
-        
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length > 0 && args[0].equals("simulate")) {
+            runSimulation();
+            return;
+        }
 
         Building building = new Building(2, 0, 20);
         
         System.out.println("Building initialized with 2 elevators, 20 floors\n");
 
-        System.out.println("--- Scenario 1: Multiple requests to upper floors ---");
-        building.requestElevator(15, Direction.UP);
-        building.requestElevator(8, Direction.UP);
-        building.requestElevator(12, Direction.UP);
-        building.requestElevator(5, Direction.DOWN);
+        System.out.println("--- Scenario 1: Passengers riding to their destinations ---");
+        building.requestElevator(0, 15, 80);
+        building.requestElevator(8, 12, 65);
+        building.requestElevator(12, 3, 90);
+        building.requestElevator(5, 0, 70);
+        building.awaitIdle(30_000);
 
         System.out.println("\n--- Building Status After Scenario 1 ---");
         building.printStatus();
@@ -27,10 +38,38 @@ public class App {
         building.requestElevator(10, Direction.UP);
         building.requestElevator(3, Direction.DOWN);
         building.requestElevator(18, Direction.UP);
+        building.awaitIdle(30_000);
 
         System.out.println("\n--- Final Building Status ---");
         building.printStatus();
+        building.getTelemetry().snapshot().print();
+        building.shutdown();
+    }
+
+    private static void runSimulation() {
+        List<HallCall> day = new TrafficGenerator(0, 60, 42).generateDay(300_000);
+        for (int elevators : new int[]{50, 64}) {
+            System.out.println("Simulating a 24h day: 300,000 hall calls, " + elevators + " elevators, floors 0-60");
+
+            System.out.println("\n--- SmartElevatorScheduler (per hall call) ---");
+            new ElevatorSimulator(elevators, 0, 60).run(day).print();
+
+            System.out.println("--- DestinationDispatchScheduler (500 ms batches) ---");
+            new ElevatorSimulator(elevators, 0, 60, 500,
+                    cars -> new DestinationDispatchScheduler(cars, 0, 60)).run(day).print();
+        }
+
+        System.out.println("Simulating idle-car parking: 100,000 hall calls, 50 elevators, floors 0-60");
+        List<HallCall> yesterday = new TrafficGenerator(0, 60, 41).generateDay(100_000, 0);
+        List<HallCall> today = new TrafficGenerator(0, 60, 42).generateDay(100_000, 1);
+
+        System.out.println("\n--- Idle cars stay where they stopped ---");
+        new ElevatorSimulator(50, 0, 60).run(today).print();
 
-       
+        System.out.println("--- Idle cars parked at learned demand (trained on the previous day) ---");
+        ElevatorSimulator parking = new ElevatorSimulator(50, 0, 60);
+        parking.setTrafficLearner(new TrafficLearner(0, 60));
+        parking.run(yesterday);
+        parking.run(today).print();
     }
 }
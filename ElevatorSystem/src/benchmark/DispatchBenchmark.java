@@ -0,0 +1,83 @@
+package benchmark;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import main.Direction;
+import main.DispatchService;
+
+// Hall calls dispatched per second by one DispatchService as the portfolio grows from 1 to 10k
+// buildings. Producer threads submit to random buildings for a fixed window; calls refused by
+// backpressure are counted, not retried. Heap is read after a GC at the end of the window.
+public class DispatchBenchmark {
+    private static final int[] BUILDING_COUNTS = {1, 10, 100, 1_000, 10_000};
+    private static final int ELEVATORS = 4;
+    private static final int MIN_FLOOR = 0;
+    private static final int MAX_FLOOR = 20;
+
+    public static void main(String[] args) throws InterruptedException {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        int producers = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        int parallelism = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        System.out.printf("%d producers for %d s per run, parallelism %d, %d cars and floors %d-%d per building%n",
+                producers, seconds, parallelism, ELEVATORS, MIN_FLOOR, MAX_FLOOR);
+        System.out.printf("%-10s %14s %14s %10s %10s%n", "buildings", "dispatched/s", "rejected", "failed", "heap MB");
+        run(100, 1, producers, parallelism, false);
+        for (int buildings : BUILDING_COUNTS) {
+            run(buildings, seconds, producers, parallelism, true);
+        }
+    }
+
+    private static void run(int buildings, int seconds, int producers, int parallelism, boolean report)
+            throws InterruptedException {
+        DispatchService service = new DispatchService(parallelism);
+        for (int i = 0; i < buildings; i++) {
+            service.addBuilding(ELEVATORS, MIN_FLOOR, MAX_FLOOR);
+        }
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            Random random = new Random(p);
+            threads[p] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                while (running.get()) {
+                    int floor = MIN_FLOOR + random.nextInt(MAX_FLOOR - MIN_FLOOR + 1);
+                    Direction direction = floor == MAX_FLOOR
+                            || (floor > MIN_FLOOR && random.nextBoolean()) ? Direction.DOWN : Direction.UP;
+                    service.submit(random.nextInt(buildings), floor, direction);
+                }
+            }, "producer-" + p);
+            threads[p].start();
+        }
+
+        long handledBefore = service.getHandledCalls();
+        long begin = System.nanoTime();
+        start.countDown();
+        Thread.sleep(seconds * 1000L);
+        running.set(false);
+        long handled = service.getHandledCalls() - handledBefore;
+        double elapsed = (System.nanoTime() - begin) / 1e9;
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long heapBytes = usedHeap();
+        if (report) {
+            System.out.printf("%-10s %14s %14s %,10d %,10d%n", String.format("%,d", buildings),
+                    String.format("%,.0f", handled / elapsed), String.format("%,d", service.getRejectedCalls()),
+                    service.getFailedCalls(), heapBytes >> 20);
+        }
+        service.shutdown();
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
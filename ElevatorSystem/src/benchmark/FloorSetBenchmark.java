@@ -0,0 +1,124 @@
+package benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import java.util.TreeSet;
+
+import main.FloorSet;
+
+// A car's route loop as Elevator.advance runs it: take new stops, pick a direction from the lowest
+// and highest stop, move one floor, clear the stop there. The same call trace is replayed against
+// FloorSet and against the TreeSet<Integer> it replaced; both must end with the same checksum.
+public class FloorSetBenchmark {
+    private static final int[] TOWER_FLOORS = {20, 200, 2_000};
+    private static final int CALL_TRACE = 1 << 16;
+
+    private static long checksum;
+
+    public static void main(String[] args) {
+        int steps = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        System.out.printf("%,d route steps per run, one new stop every other step, after a warm-up run%n", steps);
+        System.out.printf("%-7s %-17s %10s %14s%n", "floors", "structure", "ns/step", "bytes/step");
+        for (int floors : TOWER_FLOORS) {
+            int[] calls = new int[CALL_TRACE];
+            Random random = new Random(floors);
+            for (int i = 0; i < calls.length; i++) {
+                calls[i] = random.nextInt(floors);
+            }
+            long bitsetSum = 0;
+            long treeSum = 0;
+            double[] bitset = null;
+            double[] tree = null;
+            for (int round = 0; round < 2; round++) {
+                bitset = measure(() -> runFloorSet(floors, calls, steps), steps);
+                bitsetSum = checksum;
+                tree = measure(() -> runTreeSet(calls, steps), steps);
+                treeSum = checksum;
+            }
+            if (bitsetSum != treeSum) {
+                throw new IllegalStateException("Routes diverged: " + bitsetSum + " vs " + treeSum);
+            }
+            System.out.printf("%-7d %-17s %10.1f %14.2f%n", floors, "FloorSet", bitset[0], bitset[1]);
+            System.out.printf("%-7d %-17s %10.1f %14.2f%n", floors, "TreeSet<Integer>", tree[0], tree[1]);
+        }
+    }
+
+    private static double[] measure(Runnable run, int steps) {
+        long allocatedBefore = allocatedBytes();
+        long begin = System.nanoTime();
+        run.run();
+        long nanos = System.nanoTime() - begin;
+        long allocatedAfter = allocatedBytes();
+        double bytes = allocatedBefore == Long.MIN_VALUE ? Double.NaN : (double) (allocatedAfter - allocatedBefore) / steps;
+        return new double[]{(double) nanos / steps, bytes};
+    }
+
+    private static void runFloorSet(int floors, int[] calls, int steps) {
+        FloorSet stops = new FloorSet(0, floors - 1);
+        int current = 0;
+        int direction = 0;
+        long served = 0;
+        for (int step = 0; step < steps; step++) {
+            if ((step & 1) == 0) {
+                stops.add(calls[(step >>> 1) & (CALL_TRACE - 1)]);
+            }
+            if (stops.isEmpty()) {
+                direction = 0;
+                continue;
+            }
+            int lowest = stops.first();
+            int highest = stops.last();
+            if (direction >= 0 && current >= highest) {
+                direction = -1;
+            } else if (direction <= 0 && current <= lowest) {
+                direction = 1;
+            }
+            if (!stops.contains(current)) {
+                current += direction;
+            }
+            if (stops.remove(current)) {
+                served += current;
+            }
+        }
+        checksum = served * 31 + current;
+    }
+
+    private static void runTreeSet(int[] calls, int steps) {
+        TreeSet<Integer> stops = new TreeSet<>();
+        int current = 0;
+        int direction = 0;
+        long served = 0;
+        for (int step = 0; step < steps; step++) {
+            if ((step & 1) == 0) {
+                stops.add(calls[(step >>> 1) & (CALL_TRACE - 1)]);
+            }
+            if (stops.isEmpty()) {
+                direction = 0;
+                continue;
+            }
+            int lowest = stops.first();
+            int highest = stops.last();
+            if (direction >= 0 && current >= highest) {
+                direction = -1;
+            } else if (direction <= 0 && current <= lowest) {
+                direction = 1;
+            }
+            if (!stops.contains(current)) {
+                current += direction;
+            }
+            if (stops.remove(current)) {
+                served += current;
+            }
+        }
+        checksum = served * 31 + current;
+    }
+
+    // HotSpot exposes per-thread allocation counters; other VMs report NaN bytes/step.
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return Long.MIN_VALUE;
+    }
+}
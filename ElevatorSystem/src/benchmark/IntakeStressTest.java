@@ -0,0 +1,162 @@
+package benchmark;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import main.Direction;
+import main.Elevator;
+import main.Request;
+
+// Floor panels on many threads call Elevator.submitRequest while one thread plays the engine and
+// keeps calling drainIntake, as step() does. Every accepted call must be drained exactly once and
+// its floor must end up in the car's route; the car then runs until idle and must serve each one,
+// leaving its booked count back at zero.
+public class IntakeStressTest {
+    private static final int MIN_FLOOR = 0;
+    private static final int MAX_FLOOR = 199;
+    private static final int YIELD_MASK = 63;
+    private static final long DRAIN_TIMEOUT_MILLIS = 10_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int producers = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+        int callsPerProducer = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+        System.out.printf("%d producer threads x %,d hall calls, one draining engine thread, floors %d-%d%n",
+                producers, callsPerProducer, MIN_FLOOR, MAX_FLOOR);
+
+        long lost = 0;
+        for (int round = 1; round <= rounds; round++) {
+            lost += round(round, producers, callsPerProducer);
+        }
+        if (lost > 0) {
+            System.out.println("FAILED: " + lost + " calls lost or duplicated");
+            System.exit(1);
+        }
+        System.out.println("OK: no lost calls");
+    }
+
+    private static long round(int round, int producers, int callsPerProducer) throws InterruptedException {
+        // No booking limit: the point is many offers racing one drain, not backpressure.
+        Elevator elevator = new Elevator(1, MIN_FLOOR, MIN_FLOOR, MAX_FLOOR, Integer.MAX_VALUE);
+        elevator.setLogging(false);
+        AtomicIntegerArray requested = new AtomicIntegerArray(MAX_FLOOR + 1);
+        LongAdder accepted = new LongAdder();
+        LongAdder crashes = new LongAdder();
+        long[][] submitNanos = new long[producers][];
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(producers);
+        AtomicBoolean producing = new AtomicBoolean(true);
+
+        Thread[] panels = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            panels[p] = new Thread(() -> {
+                Random random = new Random(producer);
+                long[] nanos = new long[callsPerProducer];
+                submitNanos[producer] = nanos;
+                try {
+                    start.await();
+                    for (int i = 0; i < callsPerProducer; i++) {
+                        int floor = MIN_FLOOR + random.nextInt(MAX_FLOOR - MIN_FLOOR + 1);
+                        Request call = new Request(floor, floor == MAX_FLOOR
+                                || (floor > MIN_FLOOR && random.nextBoolean()) ? Direction.DOWN : Direction.UP);
+                        long begin = System.nanoTime();
+                        boolean ok = elevator.submitRequest(call);
+                        nanos[i] = System.nanoTime() - begin;
+                        if (ok) {
+                            accepted.increment();
+                            requested.incrementAndGet(floor);
+                        }
+                        if ((i & YIELD_MASK) == 0) {
+                            // Hand the core to the engine now and then so drains overlap submits
+                            // even on one CPU.
+                            Thread.yield();
+                        }
+                    }
+                } catch (InterruptedException | RuntimeException e) {
+                    crashes.increment();
+                    System.out.println("  " + Thread.currentThread().getName() + " failed: " + e);
+                } finally {
+                    done.countDown();
+                }
+            }, "panel-" + p);
+            panels[p].start();
+        }
+
+        long[] drained = new long[1];
+        long[] drains = new long[1];
+        Thread engine = new Thread(() -> {
+            try {
+                while (producing.get() || elevator.hasIntake()) {
+                    int batch = elevator.drainIntake();
+                    if (batch > 0) {
+                        drained[0] += batch;
+                        drains[0]++;
+                    } else {
+                        Thread.yield();
+                    }
+                }
+            } catch (RuntimeException e) {
+                crashes.increment();
+                System.out.println("  engine failed: " + e);
+            }
+        }, "engine");
+        engine.setDaemon(true);
+        engine.start();
+
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        producing.set(false);
+        engine.join(DRAIN_TIMEOUT_MILLIS);
+        if (engine.isAlive()) {
+            System.out.printf("Round %d: intake never drained empty%n", round);
+            return 1;
+        }
+        if (crashes.sum() > 0) {
+            System.out.printf("Round %d: %d threads crashed%n", round, crashes.sum());
+            return crashes.sum();
+        }
+        long lost = Math.abs(accepted.sum() - drained[0]);
+        int[] stops = elevator.getStops();
+        boolean[] inRoute = new boolean[MAX_FLOOR + 1];
+        for (int stop : stops) {
+            inRoute[stop] = true;
+        }
+        int missingStops = 0;
+        for (int floor = MIN_FLOOR; floor <= MAX_FLOOR; floor++) {
+            if (requested.get(floor) > 0 && !inRoute[floor]) {
+                missingStops++;
+            }
+        }
+
+        boolean[] served = new boolean[MAX_FLOOR + 1];
+        elevator.setListener((car, floor) -> served[floor] = true);
+        elevator.operate();
+        int stillBooked = elevator.getBookedPassengers();
+        int unserved = 0;
+        for (int floor = MIN_FLOOR; floor <= MAX_FLOOR; floor++) {
+            if (requested.get(floor) > 0 && !served[floor]) {
+                unserved++;
+            }
+        }
+
+        long[] all = new long[producers * callsPerProducer];
+        for (int p = 0; p < producers; p++) {
+            System.arraycopy(submitNanos[p], 0, all, p * callsPerProducer, callsPerProducer);
+        }
+        Arrays.sort(all);
+        System.out.printf("Round %d: %,d accepted, %,d drained in %,d batches | %,.0f calls/s | "
+                        + "submit p50 %.2f µs p99 %.2f µs | lost %d, stops missing %d, floors unserved %d, "
+                        + "still booked %d%n",
+                round, accepted.sum(), drained[0], drains[0], accepted.sum() / seconds,
+                all[all.length / 2] / 1000.0, all[(int) (all.length * 0.99)] / 1000.0, lost, missingStops, unserved,
+                stillBooked);
+        return lost + missingStops + unserved + Math.abs(stillBooked);
+    }
+}
@@ -0,0 +1,40 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import main.ElevatorSimulator;
+import main.HallCall;
+import main.SimulationReport;
+
+// Regression run for a simulator livelock: one car, nine 75 kg riders and one 150 kg rider all
+// waiting at the lobby. The car fills to 675 kg, is not "full" by the average-passenger rule, yet
+// cannot take the 150 kg rider. It used to be re-dispatched to the floor it was standing on and
+// reopen its doors at the same instant forever. The car must leave, deliver, and come back.
+public class OverweightRiderTest {
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        List<HallCall> trace = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            trace.add(new HallCall(0, 0, 5 + i % 5, 75));
+        }
+        trace.add(new HallCall(0, 0, 10, 150));
+
+        SimulationReport[] report = new SimulationReport[1];
+        Thread run = new Thread(() -> report[0] = new ElevatorSimulator(1, 0, 10).run(trace), "simulator");
+        run.setDaemon(true);
+        run.start();
+        run.join(TIMEOUT_MILLIS);
+        if (report[0] == null) {
+            System.out.println("FAILED: simulator did not finish within " + TIMEOUT_MILLIS + " ms");
+            System.exit(1);
+        }
+        if (report[0].getPassengersServed() != trace.size()) {
+            System.out.println("FAILED: served " + report[0].getPassengersServed() + " of " + trace.size());
+            System.exit(1);
+        }
+        System.out.printf("OK: %d riders served, heavy rider waited %.1f s for the car to return%n",
+                report[0].getPassengersServed(), report[0].getWaitPercentile(100) / 1000.0);
+    }
+}
@@ -2,6 +2,7 @@ package main;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.TimeZone;
 
 
 public class Building {
@@ -12,21 +13,40 @@ public class Building {
     private int maxFloor;
     private List<Elevator> elevators;
     private ElevatorSchedular scheduler;
+    private ElevatorIndex index;
+    private ElevatorEngine engine;
+    private boolean ownsEngine;
+    private ElevatorTelemetry telemetry;
+    private TrafficLearner learner;
+    private boolean logging = true;
 
     public Building(int elevatorCount) {
         this(elevatorCount, MIN_FLOOR, MAX_FLOOR);
     }
 
     public Building(int elevatorCount, int minFloor, int maxFloor) {
+        this(elevatorCount, minFloor, maxFloor, new ElevatorEngine(Elevator.DELAY_PER_FLOOR));
+        this.ownsEngine = true;
+    }
+
+    // A shared engine stays with its creator: shutdown() only stops engines the building made.
+    public Building(int elevatorCount, int minFloor, int maxFloor, ElevatorEngine engine) {
+        this.engine = engine;
         this.minFloor = minFloor;
         this.maxFloor = maxFloor;
         this.elevators = new ArrayList<>();
+        this.telemetry = new ElevatorTelemetry(elevatorCount, minFloor, maxFloor);
+        this.learner = new TrafficLearner(minFloor, maxFloor, TrafficLearner.DEFAULT_DAY_DECAY,
+                TimeZone.getDefault().getOffset(System.currentTimeMillis()));
         
         for (int i = 0; i < elevatorCount; i++) {
-            elevators.add(new Elevator(i + 1, minFloor));
+            Elevator elevator = new Elevator(i + 1, minFloor, minFloor, maxFloor);
+            elevator.setTelemetry(telemetry);
+            elevators.add(elevator);
         }
         
-        this.scheduler = new SmartElevatorScheduler(elevators, minFloor, maxFloor);
+        this.index = new ElevatorIndex(elevators, minFloor, maxFloor);
+        this.scheduler = new SmartElevatorScheduler(elevators, index, minFloor, maxFloor);
     }
 
 
@@ -36,45 +56,113 @@ public class Building {
                              " (Valid range: " + minFloor + " to " + maxFloor + ")");
             return false;
         }
+        return dispatch(new Request(floor, direction));
+    }
+
+    public boolean requestElevator(int floor, int destination) {
+        return requestElevator(floor, destination, Elevator.AVERAGE_PASSENGER_KG);
+    }
+
+    public boolean requestElevator(int floor, int destination, int weightKg) {
+        if (!isValidFloor(floor) || !isValidFloor(destination) || floor == destination) {
+            System.err.println("❌ Invalid trip: " + floor + " → " + destination +
+                             " (Valid range: " + minFloor + " to " + maxFloor + ")");
+            return false;
+        }
+        if (weightKg <= 0 || weightKg > Elevator.RATED_LOAD_KG) {
+            System.err.println("❌ Invalid passenger weight: " + weightKg + " kg");
+            return false;
+        }
+        return dispatch(new Request(floor, destination, weightKg));
+    }
 
-        Request request = new Request(floor, direction);
+    private boolean dispatch(Request request) {
+        int floor = request.getFloor();
+        Direction direction = request.getDirection();
+        learner.recordCall(floor, request.getTimestamp());
         
+        long decisionStart = System.nanoTime();
         Elevator elevator = scheduler.selectElevator(floor, direction);
+        telemetry.recordDecision(System.nanoTime() - decisionStart);
         
         if (elevator == null) {
             System.err.println("❌ No elevators available");
             return false;
         }
 
-        boolean accepted = elevator.addRequest(request);
-        
-        if (!accepted) {
-            System.err.println("⚠️  Elevator " + elevator.getId() + " at capacity, request queued");
+        if (!elevator.submitRequest(request)) {
+            if (logging) {
+                System.err.println("⚠️  Elevator " + elevator.getId() + " at capacity, request rejected");
+            }
             return false;
         }
+        engine.wake(elevator);
 
-        System.out.println("✓ Request dispatched to Elevator " + elevator.getId() + 
-                         " for Floor " + floor + " (Direction: " + direction + ")");
-        
-        if (elevator.getState() == State.MOVING) {
-            elevator.operate();
+        if (logging) {
+            System.out.println("✓ Request dispatched to Elevator " + elevator.getId() + 
+                             " for Floor " + floor + " (Direction: " + direction + ")");
         }
         
         return true;
     }
 
-    private boolean isValidFloor(int floor) {
-        return floor >= minFloor && floor <= maxFloor;
+    public boolean awaitIdle(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (!engine.isIdle()) {
+            if (System.currentTimeMillis() >= deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    public void setLogging(boolean logging) {
+        this.logging = logging;
+        for (Elevator elevator : elevators) {
+            elevator.setLogging(logging);
+        }
     }
 
+    public void setParkingEnabled(boolean enabled) {
+        ParkingPolicy parking = enabled ? new ParkingPolicy(learner, elevators, System::currentTimeMillis) : null;
+        for (Elevator elevator : elevators) {
+            elevator.setParkingPolicy(parking);
+        }
+        if (enabled) {
+            parkIdleCars();
+        }
+    }
 
-    public Elevator getElevator(int id) {
+    public void parkIdleCars() {
         for (Elevator elevator : elevators) {
-            if (elevator.getId() == id) {
-                return elevator;
+            if (elevator.getState() == State.IDLE) {
+                engine.wake(elevator);
             }
         }
-        return null;
+    }
+
+    public TrafficLearner getTrafficLearner() {
+        return learner;
+    }
+
+    public ElevatorTelemetry getTelemetry() {
+        return telemetry;
+    }
+
+    public void shutdown() {
+        if (ownsEngine) {
+            engine.shutdown();
+        }
+    }
+
+    private boolean isValidFloor(int floor) {
+        return floor >= minFloor && floor <= maxFloor;
+    }
+
+
+    public Elevator getElevator(int id) {
+        return index.get(id);
     }
 
 
@@ -0,0 +1,215 @@
+package main;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+public class DestinationDispatchScheduler implements ElevatorSchedular {
+    private static final long UNASSIGNABLE = 1_000_000_000_000L;
+    // A new stop costs door cycles the car could spend on other calls, even when it is empty, so a
+    // car that already stops at the origin or destination wins close calls and riders share stops.
+    private static final int NEW_STOP_DOORS = 3;
+
+    private List<Elevator> elevators;
+    private int minFloor;
+    private int maxFloor;
+    private long millisPerFloor;
+    private long doorMillis;
+
+    public DestinationDispatchScheduler(List<Elevator> elevators, int minFloor, int maxFloor) {
+        this(elevators, minFloor, maxFloor, Elevator.DELAY_PER_FLOOR, Elevator.DOOR_MILLIS);
+    }
+
+    public DestinationDispatchScheduler(List<Elevator> elevators, int minFloor, int maxFloor,
+                                        long millisPerFloor, long doorMillis) {
+        this.elevators = elevators;
+        this.minFloor = minFloor;
+        this.maxFloor = maxFloor;
+        this.millisPerFloor = millisPerFloor;
+        this.doorMillis = doorMillis;
+    }
+
+    @Override
+    public Elevator selectElevator(int floor, Direction direction) {
+        Elevator best = null;
+        long bestCost = Long.MAX_VALUE;
+        for (Elevator elevator : elevators) {
+            long cost = insertionCost(new Route(elevator), floor, floor, 1, Elevator.AVERAGE_PASSENGER_KG);
+            if (cost < bestCost) {
+                bestCost = cost;
+                best = elevator;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public List<Elevator> assignCalls(List<HallCall> calls) {
+        List<Elevator> assignments = new ArrayList<>(Collections.nCopies(calls.size(), (Elevator) null));
+        if (calls.isEmpty() || elevators.isEmpty()) {
+            return assignments;
+        }
+
+        List<Route> routes = new ArrayList<>(elevators.size());
+        for (Elevator elevator : elevators) {
+            if (!elevator.isFull()) {
+                routes.add(new Route(elevator));
+            }
+        }
+        List<CallGroup> remaining = groupCalls(calls);
+
+        while (!remaining.isEmpty()) {
+            routes.removeIf(Route::isFull);
+            if (routes.isEmpty()) {
+                break;
+            }
+            int roundSize = Math.min(remaining.size(), routes.size());
+            long[][] cost = new long[roundSize][routes.size()];
+            for (int g = 0; g < roundSize; g++) {
+                CallGroup group = remaining.get(g);
+                for (int c = 0; c < routes.size(); c++) {
+                    cost[g][c] = insertionCost(routes.get(c), group.origin, group.destination, group.size(), group.weightKg);
+                }
+            }
+
+            int[] choice = HungarianAssignment.solve(cost);
+            List<CallGroup> unassigned = new ArrayList<>();
+            for (int g = 0; g < roundSize; g++) {
+                CallGroup group = remaining.get(g);
+                if (cost[g][choice[g]] >= UNASSIGNABLE) {
+                    unassigned.add(group);
+                    continue;
+                }
+                Route route = routes.get(choice[g]);
+                route.add(group);
+                for (int index : group.callIndexes) {
+                    assignments.set(index, route.elevator);
+                }
+            }
+            if (unassigned.size() == roundSize) {
+                break;
+            }
+            unassigned.addAll(remaining.subList(roundSize, remaining.size()));
+            remaining = unassigned;
+        }
+        return assignments;
+    }
+
+    private List<CallGroup> groupCalls(List<HallCall> calls) {
+        Map<Long, CallGroup> open = new LinkedHashMap<>();
+        List<CallGroup> groups = new ArrayList<>();
+        for (int i = 0; i < calls.size(); i++) {
+            HallCall call = calls.get(i);
+            if (!isValidFloor(call.getFloor()) || !isValidFloor(call.getDestination())) {
+                throw new IllegalArgumentException("Hall call outside building: " + call);
+            }
+            long key = ((long) call.getFloor() << 32) | (call.getDestination() & 0xffffffffL);
+            CallGroup group = open.get(key);
+            if (group == null || !fits(group.size() + 1, group.weightKg + call.getWeightKg())) {
+                group = new CallGroup(call.getFloor(), call.getDestination());
+                open.put(key, group);
+                groups.add(group);
+            }
+            group.add(i, call.getWeightKg());
+        }
+        return groups;
+    }
+
+    private boolean isValidFloor(int floor) {
+        return floor >= minFloor && floor <= maxFloor;
+    }
+
+    // Same limits as Elevator.canBoard: headcount and rated load in kg.
+    private static boolean fits(int passengers, int weightKg) {
+        return passengers <= Elevator.MAX_CAPACITY && weightKg <= Elevator.RATED_LOAD_KG;
+    }
+
+    private long insertionCost(Route route, int origin, int destination, int passengers, int weightKg) {
+        if (!fits(route.passengers + passengers, route.loadKg + weightKg)) {
+            return UNASSIGNABLE;
+        }
+
+        long wait = route.timeToReach(origin);
+        int newStops = (route.stops.contains(origin) ? 0 : 1)
+                + (destination == origin || route.stops.contains(destination) ? 0 : 1);
+        long delayToOthers = newStops * doorMillis * (route.stops.size() + NEW_STOP_DOORS);
+        long ride = (long) Math.abs(destination - origin) * millisPerFloor + newStops * doorMillis;
+        return wait + delayToOthers + ride;
+    }
+
+    private class Route {
+        private final Elevator elevator;
+        private final int floor;
+        private final Direction direction;
+        private final FloorSet stops;
+        private int passengers;
+        private int loadKg;
+
+        Route(Elevator elevator) {
+            this.elevator = elevator;
+            this.floor = elevator.getCurrentFloor();
+            this.direction = elevator.getDirection();
+            this.stops = new FloorSet(minFloor, maxFloor);
+            for (int stop : elevator.getStops()) {
+                stops.add(stop);
+            }
+            this.passengers = elevator.getCurrentPassengers() + elevator.getBookedPassengers();
+            this.loadKg = elevator.getCurrentLoadKg() + elevator.getBookedLoadKg();
+        }
+
+        void add(CallGroup group) {
+            stops.add(group.origin);
+            stops.add(group.destination);
+            passengers += group.size();
+            loadKg += group.weightKg;
+        }
+
+        boolean isFull() {
+            return !fits(passengers + 1, loadKg + Elevator.AVERAGE_PASSENGER_KG);
+        }
+
+        long timeToReach(int target) {
+            int distance;
+            int stopsPassed;
+            if (direction == Direction.UP && target < floor && !stops.isEmpty()) {
+                int top = Math.max(floor, stops.last());
+                distance = (top - floor) + (top - target);
+                stopsPassed = stops.countBetween(floor + 1, top) + stops.countBetween(target + 1, top - 1);
+            } else if (direction == Direction.DOWN && target > floor && !stops.isEmpty()) {
+                int bottom = Math.min(floor, stops.first());
+                distance = (floor - bottom) + (target - bottom);
+                stopsPassed = stops.countBetween(bottom, floor - 1) + stops.countBetween(bottom + 1, target - 1);
+            } else {
+                distance = Math.abs(target - floor);
+                stopsPassed = target >= floor
+                        ? stops.countBetween(floor + 1, target - 1)
+                        : stops.countBetween(target + 1, floor - 1);
+            }
+            return distance * millisPerFloor + stopsPassed * doorMillis;
+        }
+    }
+
+    private static class CallGroup {
+        private final int origin;
+        private final int destination;
+        private final List<Integer> callIndexes = new ArrayList<>();
+        private int weightKg;
+
+        CallGroup(int origin, int destination) {
+            this.origin = origin;
+            this.destination = destination;
+        }
+
+        void add(int callIndex, int callWeightKg) {
+            callIndexes.add(callIndex);
+            weightKg += callWeightKg;
+        }
+
+        int size() {
+            return callIndexes.size();
+        }
+    }
+}
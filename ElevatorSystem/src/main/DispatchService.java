@@ -0,0 +1,169 @@
+package main;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+
+// Engines are shared round-robin (building id % parallelism) and tick on their own threads,
+// not on the pool's workers. They belong to the service, which stops them in shutdown().
+public class DispatchService {
+    public static final int DEFAULT_MAX_PENDING_PER_BUILDING = 1024;
+    private static final int DRAIN_BATCH = 64;
+
+    private final ForkJoinPool pool;
+    private final ElevatorEngine[] engines;
+    private final int maxPendingPerBuilding;
+    private final List<Lane> lanes;
+    private final AtomicLong outstanding;
+    private final LongAdder handled;
+    private final LongAdder failed;
+    private final LongAdder rejected;
+
+    public DispatchService(int parallelism) {
+        this(parallelism, DEFAULT_MAX_PENDING_PER_BUILDING);
+    }
+
+    public DispatchService(int parallelism, int maxPendingPerBuilding) {
+        if (parallelism <= 0 || maxPendingPerBuilding <= 0) {
+            throw new IllegalArgumentException("Invalid dispatch service settings");
+        }
+        this.pool = new ForkJoinPool(parallelism, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+        this.engines = new ElevatorEngine[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            engines[i] = new ElevatorEngine(Elevator.DELAY_PER_FLOOR);
+        }
+        this.maxPendingPerBuilding = maxPendingPerBuilding;
+        this.lanes = new CopyOnWriteArrayList<>();
+        this.outstanding = new AtomicLong();
+        this.handled = new LongAdder();
+        this.failed = new LongAdder();
+        this.rejected = new LongAdder();
+    }
+
+    public synchronized int addBuilding(int elevatorCount, int minFloor, int maxFloor) {
+        int id = lanes.size();
+        Building building = new Building(elevatorCount, minFloor, maxFloor, engines[id % engines.length]);
+        building.setLogging(false);
+        lanes.add(new Lane(building));
+        return id;
+    }
+
+    public Building getBuilding(int buildingId) {
+        return lane(buildingId).building;
+    }
+
+    public int getBuildingCount() {
+        return lanes.size();
+    }
+
+    public boolean submit(int buildingId, int floor, Direction direction) {
+        Lane lane = lane(buildingId);
+        return offer(lane, () -> lane.building.requestElevator(floor, direction));
+    }
+
+    public boolean submit(int buildingId, int floor, int destination, int weightKg) {
+        Lane lane = lane(buildingId);
+        return offer(lane, () -> lane.building.requestElevator(floor, destination, weightKg));
+    }
+
+    public boolean awaitQuiescence(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (outstanding.get() > 0) {
+            if (System.currentTimeMillis() >= deadline) {
+                return false;
+            }
+            Thread.sleep(1);
+        }
+        return true;
+    }
+
+    public long getHandledCalls() {
+        return handled.sum();
+    }
+
+    public long getFailedCalls() {
+        return failed.sum();
+    }
+
+    public long getRejectedCalls() {
+        return rejected.sum();
+    }
+
+    public void shutdown() throws InterruptedException {
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+        for (ElevatorEngine engine : engines) {
+            engine.shutdown();
+        }
+    }
+
+    private Lane lane(int buildingId) {
+        if (buildingId < 0 || buildingId >= lanes.size()) {
+            throw new IllegalArgumentException("Unknown building: " + buildingId);
+        }
+        return lanes.get(buildingId);
+    }
+
+    private boolean offer(Lane lane, BooleanSupplier call) {
+        if (lane.pending.incrementAndGet() > maxPendingPerBuilding) {
+            lane.pending.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+        outstanding.incrementAndGet();
+        lane.calls.offer(call);
+        schedule(lane);
+        return true;
+    }
+
+    private void schedule(Lane lane) {
+        if (lane.scheduled.compareAndSet(false, true)) {
+            pool.execute(() -> drain(lane));
+        }
+    }
+
+    private void drain(Lane lane) {
+        BooleanSupplier call;
+        int drained = 0;
+        while (drained < DRAIN_BATCH && (call = lane.calls.poll()) != null) {
+            drained++;
+            try {
+                if (call.getAsBoolean()) {
+                    handled.increment();
+                } else {
+                    failed.increment();
+                }
+            } catch (RuntimeException e) {
+                failed.increment();
+                System.err.println("❌ Dispatch failed: " + e.getMessage());
+            } finally {
+                lane.pending.decrementAndGet();
+                outstanding.decrementAndGet();
+            }
+        }
+        lane.scheduled.set(false);
+        if (!lane.calls.isEmpty()) {
+            schedule(lane);
+        }
+    }
+
+    private static class Lane {
+        private final Building building;
+        private final Queue<BooleanSupplier> calls = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        Lane(Building building) {
+            this.building = building;
+        }
+    }
+}
@@ -1,57 +1,229 @@
 package main;
 
-import java.util.TreeSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 public class Elevator {
-    private static final int MAX_CAPACITY = 10; 
-    private static final int DELAY_PER_FLOOR = 500; 
+    public static final int MAX_CAPACITY = 10; 
+    public static final int RATED_LOAD_KG = 800;
+    public static final int AVERAGE_PASSENGER_KG = 75;
+    public static final int DELAY_PER_FLOOR = 500; 
+    public static final int DOOR_MILLIS = 2000;
+    public static final int MAX_BOOKED_REQUESTS = 128;
 
     private int id;
-    private int currentFloor;
-    private State state;
-    private Direction direction;
+    private volatile int currentFloor;
+    private volatile State state;
+    private volatile Direction direction;
     private RequestQueue requestQueue;
-    private int currentPassengers; 
+    private Queue<Request> intake;
+    private volatile int currentPassengers; 
+    private volatile int currentLoadKg;
+    private final AtomicInteger bookedPassengers = new AtomicInteger();
+    private final AtomicInteger bookedLoadKg = new AtomicInteger();
+    private final int maxBookedRequests;
+    // Riders aboard, by slot; at most MAX_CAPACITY, so boarding never allocates.
+    private final Request[] riders = new Request[MAX_CAPACITY];
+    private final long[] boardedAt = new long[MAX_CAPACITY];
+    private int riderCount;
+    private final List<Request> leftBehind = new ArrayList<>();
+    private final List<Request> arrivals = new ArrayList<>();
+    private ElevatorListener listener;
+    private ElevatorIndex index;
+    private ElevatorTelemetry telemetry;
+    private volatile ParkingPolicy parkingPolicy;
+    private volatile int parkingFloor = FloorSet.NONE;
+    private boolean logging = true;
 
-    private TreeSet<Integer> floorsToVisit;
+    private FloorSet floorsToVisit;
 
     public Elevator(int id, int startFloor) {
+        this(id, startFloor, startFloor, startFloor);
+    }
+
+    public Elevator(int id, int startFloor, int minFloor, int maxFloor) {
+        this(id, startFloor, minFloor, maxFloor, MAX_BOOKED_REQUESTS);
+    }
+
+    public Elevator(int id, int startFloor, int minFloor, int maxFloor, int maxBookedRequests) {
+        if (maxBookedRequests <= 0) {
+            throw new IllegalArgumentException("Invalid booking limit: " + maxBookedRequests);
+        }
         this.id = id;
+        this.maxBookedRequests = maxBookedRequests;
         this.currentFloor = startFloor;
         this.state = State.IDLE;
         this.direction = Direction.IDLE;
         this.requestQueue = new RequestQueue();
-        this.floorsToVisit = new TreeSet<>();
+        this.intake = new ConcurrentLinkedQueue<>();
+        this.floorsToVisit = new FloorSet(Math.min(minFloor, startFloor), Math.max(maxFloor, startFloor));
         this.currentPassengers = 0;
     }
 
-   
-    public boolean addRequest(Request request) {
-        if (currentPassengers >= MAX_CAPACITY) {
+    // Engine-side path for drivers that own the car's thread, such as the simulator. Every other
+    // caller goes through submitRequest, so the intake is the only cross-thread entry point.
+    boolean addRequest(Request request) {
+        if (isFull()) {
             return false; 
         }
 
+        book(request);
+        enqueue(request);
+        return true;
+    }
+
+    // A request stays booked from submit until the car serves its floor, so at most
+    // maxBookedRequests calls per car are held in the intake, the route and leftBehind together.
+    public boolean submitRequest(Request request) {
+        if (isFull()) {
+            return false;
+        }
+        if (bookedPassengers.incrementAndGet() > maxBookedRequests) {
+            bookedPassengers.decrementAndGet();
+            return false;
+        }
+        bookedLoadKg.addAndGet(request.getWeightKg());
+        intake.offer(request);
+        return true;
+    }
+
+    public int drainIntake() {
+        int drained = 0;
+        Request request;
+        while ((request = intake.poll()) != null) {
+            enqueue(request);
+            drained++;
+        }
+        return drained;
+    }
+
+    public boolean hasIntake() {
+        return !intake.isEmpty();
+    }
+
+    private void enqueue(Request request) {
+        cancelParking();
         floorsToVisit.add(request.getFloor());
         requestQueue.addRequest(request);
-        
+
         if (state == State.IDLE) {
             state = State.MOVING;
         }
-        
-        return true;
+    }
+
+    private void book(Request request) {
+        bookedPassengers.incrementAndGet();
+        bookedLoadKg.addAndGet(request.getWeightKg());
+    }
+
+    void addDestination(int floor) {
+        cancelParking();
+        floorsToVisit.add(floor);
+        if (state == State.IDLE) {
+            state = State.MOVING;
+        }
+    }
+
+    public boolean canBoard(int weightKg) {
+        return currentPassengers < MAX_CAPACITY && currentLoadKg + weightKg <= RATED_LOAD_KG;
+    }
+
+    public void board(int weightKg) {
+        currentPassengers++;
+        currentLoadKg += weightKg;
+    }
+
+    public void alight(int weightKg) {
+        currentPassengers = Math.max(0, currentPassengers - 1);
+        currentLoadKg = Math.max(0, currentLoadKg - weightKg);
+    }
+
+    public void setListener(ElevatorListener listener) {
+        this.listener = listener;
+    }
+
+    void setIndex(ElevatorIndex index) {
+        this.index = index;
+    }
+
+    ElevatorIndex getIndex() {
+        return index;
+    }
+
+    void setTelemetry(ElevatorTelemetry telemetry) {
+        this.telemetry = telemetry;
+    }
+
+    public void setParkingPolicy(ParkingPolicy parkingPolicy) {
+        this.parkingPolicy = parkingPolicy;
+    }
+
+    public void setLogging(boolean logging) {
+        this.logging = logging;
     }
 
 
     public void operate() {
-        while (floorsToVisit.size() > 0) {
-            determineDirection();
-            moveToNextFloor();
-            serveFloorIfNeeded();
+        while (step()) {
+        }
+    }
+
+    public boolean step() {
+        int startFloor = currentFloor;
+        Direction startDirection = direction;
+        boolean busy = advance();
+        if (!busy && parkingPolicy != null) {
+            busy = park();
+        }
+        if (index != null && (currentFloor != startFloor || direction != startDirection)) {
+            index.update(this);
+        }
+        return busy;
+    }
+
+    private boolean advance() {
+        drainIntake();
+        if (floorsToVisit.isEmpty()) {
+            state = State.IDLE;
+            direction = Direction.IDLE;
+            return false;
+        }
+
+        state = State.MOVING;
+        determineDirection();
+        if (!floorsToVisit.contains(currentFloor)) {
+            moveOneFloor();
+        }
+        serveFloorIfNeeded();
+
+        if (floorsToVisit.isEmpty()) {
+            state = State.IDLE;
+            direction = Direction.IDLE;
+            return false;
+        }
+        return true;
+    }
+
+    private boolean park() {
+        int target = parkingPolicy.selectParkingFloor(this);
+        if (target == FloorSet.NONE || target == currentFloor) {
+            return false;
+        }
+        parkingFloor = target;
+        floorsToVisit.add(target);
+        state = State.MOVING;
+        return true;
+    }
+
+    private void cancelParking() {
+        if (parkingFloor != FloorSet.NONE) {
+            floorsToVisit.remove(parkingFloor);
+            parkingFloor = FloorSet.NONE;
         }
-        
-        state = State.IDLE;
-        direction = Direction.IDLE;
     }
 
     private void determineDirection() {
@@ -60,8 +232,8 @@ public class Elevator {
             return;
         }
 
-        Integer maxFloor = floorsToVisit.last();
-        Integer minFloor = floorsToVisit.first();
+        int maxFloor = floorsToVisit.last();
+        int minFloor = floorsToVisit.first();
 
         if (direction == Direction.UP) {
             if (currentFloor < maxFloor) {
@@ -81,7 +253,7 @@ public class Elevator {
             int distUp = maxFloor - currentFloor;
             int distDown = currentFloor - minFloor;
 
-            if (distUp <= distDown) {
+            if (distDown <= 0 || (distUp > 0 && distUp <= distDown)) {
                 direction = Direction.UP;
             } else {
                 direction = Direction.DOWN;
@@ -90,39 +262,102 @@ public class Elevator {
     }
 
    
-    private void moveToNextFloor() {
+    private void moveOneFloor() {
         if (direction == Direction.UP) {
-            Integer nextFloor = floorsToVisit.higher(currentFloor);
-            if (nextFloor != null) {
-                currentFloor = nextFloor;
-                logMovement("UP", currentFloor);
-            }
+            currentFloor++;
+            logMovement("UP", currentFloor);
         } else if (direction == Direction.DOWN) {
-            Integer nextFloor = floorsToVisit.lower(currentFloor);
-            if (nextFloor != null) {
-                currentFloor = nextFloor;
-                logMovement("DOWN", currentFloor);
-            }
-        }
-        
-        try {
-            Thread.sleep(DELAY_PER_FLOOR);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            currentFloor--;
+            logMovement("DOWN", currentFloor);
         }
     }
 
 
     private void serveFloorIfNeeded() {
-        if (floorsToVisit.contains(currentFloor)) {
-            floorsToVisit.remove(currentFloor);
-            currentPassengers++;
+        if (floorsToVisit.remove(currentFloor)) {
+            long now = System.currentTimeMillis();
+            boolean parked = currentFloor == parkingFloor;
+            int alighted = alightRiders(now);
+            if (alighted > 0 && !leftBehind.isEmpty()) {
+                for (Request request : leftBehind) {
+                    floorsToVisit.add(request.getFloor());
+                    requestQueue.addRequest(request);
+                }
+                leftBehind.clear();
+                floorsToVisit.remove(currentFloor);
+            }
+            int boarded = boardWaiting(now);
+
+            if (listener != null) {
+                listener.onFloorServed(this, currentFloor);
+            }
+            if (parked) {
+                parkingFloor = FloorSet.NONE;
+            }
+            if (!logging) {
+                return;
+            }
+            if (parked) {
+                System.out.println("  P Elevator " + id + " parked at Floor " + currentFloor);
+                return;
+            }
             System.out.println("  ✓ Elevator " + id + " at Floor " + currentFloor + 
-                             " | Passengers: " + currentPassengers + "");
+                             " | +" + boarded + " / -" + alighted +
+                             " | Passengers: " + currentPassengers + " (" + currentLoadKg + " kg)");
+        }
+    }
+
+    private int alightRiders(long now) {
+        int alighted = 0;
+        for (int i = riderCount - 1; i >= 0; i--) {
+            Request rider = riders[i];
+            if (rider.getDestination() != currentFloor) {
+                continue;
+            }
+            long rideMillis = now - boardedAt[i];
+            riderCount--;
+            riders[i] = riders[riderCount];
+            boardedAt[i] = boardedAt[riderCount];
+            riders[riderCount] = null;
+            alight(rider.getWeightKg());
+            if (telemetry != null) {
+                telemetry.recordRide(id, rider.getFloor(), rideMillis);
+            }
+            alighted++;
+        }
+        return alighted;
+    }
+
+    private int boardWaiting(long now) {
+        arrivals.clear();
+        requestQueue.removeFloor(currentFloor, arrivals);
+        int boarded = 0;
+        for (Request request : arrivals) {
+            if (request.hasDestination() && (!canBoard(request.getWeightKg()) || riderCount == riders.length)) {
+                leftBehind.add(request);
+                continue;
+            }
+            bookedPassengers.decrementAndGet();
+            bookedLoadKg.addAndGet(-request.getWeightKg());
+            if (telemetry != null) {
+                telemetry.recordWait(id, currentFloor, now - request.getTimestamp());
+            }
+            if (request.hasDestination()) {
+                board(request.getWeightKg());
+                riders[riderCount] = request;
+                boardedAt[riderCount] = now;
+                riderCount++;
+                floorsToVisit.add(request.getDestination());
+                boarded++;
+            }
         }
+        return boarded;
     }
 
     private void logMovement(String dir, int floor) {
+        if (!logging) {
+            return;
+        }
         System.out.println("Elevator " + id + " moving " + dir + " → Floor " + floor);
     }
 
@@ -142,16 +377,53 @@ public class Elevator {
         return direction;
     }
 
+    public int[] getStops() {
+        return floorsToVisit.toArray();
+    }
+
+    public boolean isParking() {
+        return parkingFloor != FloorSet.NONE;
+    }
+
+    public int getParkingFloor() {
+        return parkingFloor;
+    }
+
     public int getPendingRequests() {
         return floorsToVisit.size();
     }
 
+    public int getCapacity() {
+        return MAX_CAPACITY;
+    }
+
     public int getCurrentPassengers() {
         return currentPassengers;
     }
 
+    public int getCurrentLoadKg() {
+        return currentLoadKg;
+    }
+
+    // Pickups accepted but not yet served; a left-behind rider stays booked until picked up.
+    public int getBookedPassengers() {
+        return bookedPassengers.get();
+    }
+
+    public int getBookedLoadKg() {
+        return bookedLoadKg.get();
+    }
+
+    public double getLoadFactor() {
+        return Math.max((double) currentPassengers / MAX_CAPACITY, (double) currentLoadKg / RATED_LOAD_KG);
+    }
+
     public boolean isFull() {
-        return currentPassengers >= MAX_CAPACITY;
+        return !canBoard(AVERAGE_PASSENGER_KG);
+    }
+
+    public boolean isBookedUp() {
+        return bookedPassengers.get() >= maxBookedRequests;
     }
 
     @Override
@@ -163,6 +435,7 @@ public class Elevator {
                 ", direction=" + direction +
                 ", passengers=" + currentPassengers +
                 "/" + MAX_CAPACITY +
+                ", load=" + currentLoadKg + "kg" +
                 ", pending=" + floorsToVisit.size() +
                 '}';
     }
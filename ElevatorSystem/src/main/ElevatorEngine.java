@@ -0,0 +1,91 @@
+package main;
+
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+public class ElevatorEngine {
+    private static final long TICK_MILLIS = 50;
+    private static final int WHEEL_SLOTS = 64;
+
+    private final long ticksPerFloor;
+    private final TimerWheel<Elevator> timerWheel;
+    private final Queue<Runnable> commands;
+    private final AtomicInteger pendingCommands;
+    private final Set<Elevator> scheduled;
+    private final Queue<Elevator> wakeups;
+    private final ScheduledExecutorService ticker;
+
+    public ElevatorEngine(long millisPerFloor) {
+        this.ticksPerFloor = Math.max(1, millisPerFloor / TICK_MILLIS);
+        this.timerWheel = new TimerWheel<>(WHEEL_SLOTS);
+        this.commands = new ConcurrentLinkedQueue<>();
+        this.pendingCommands = new AtomicInteger();
+        this.scheduled = ConcurrentHashMap.newKeySet();
+        this.wakeups = new ConcurrentLinkedQueue<>();
+        this.ticker = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "elevator-engine");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public void submit(Runnable command) {
+        pendingCommands.incrementAndGet();
+        commands.offer(command);
+    }
+
+    public void wake(Elevator elevator) {
+        if (scheduled.add(elevator)) {
+            wakeups.offer(elevator);
+        }
+    }
+
+    public boolean isIdle() {
+        return pendingCommands.get() == 0 && scheduled.isEmpty();
+    }
+
+    public void shutdown() {
+        ticker.shutdown();
+    }
+
+    private void tick() {
+        Runnable command;
+        while ((command = commands.poll()) != null) {
+            try {
+                command.run();
+            } catch (RuntimeException e) {
+                System.err.println("❌ Elevator command failed: " + e.getMessage());
+            } finally {
+                pendingCommands.decrementAndGet();
+            }
+        }
+        Elevator woken;
+        while ((woken = wakeups.poll()) != null) {
+            timerWheel.schedule(woken, ticksPerFloor);
+        }
+        for (Elevator elevator : timerWheel.advance()) {
+            boolean busy;
+            try {
+                busy = elevator.step();
+            } catch (RuntimeException e) {
+                System.err.println("❌ Elevator " + elevator.getId() + " step failed: " + e.getMessage());
+                busy = false;
+            }
+            if (!busy) {
+                scheduled.remove(elevator);
+                if (!elevator.hasIntake() || !scheduled.add(elevator)) {
+                    continue;
+                }
+            }
+            timerWheel.schedule(elevator, ticksPerFloor);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package main;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+public class ElevatorIndex {
+    public static final int DEFAULT_BAND_FLOORS = 5;
+
+    private final int minFloor;
+    private final int bandFloors;
+    private final int bandCount;
+    private final Map<Integer, Elevator> byId;
+    private final Map<Elevator, Integer> slots;
+    private final Set<Elevator>[] buckets;
+
+    public ElevatorIndex(List<Elevator> elevators, int minFloor, int maxFloor) {
+        this(elevators, minFloor, maxFloor, DEFAULT_BAND_FLOORS);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public ElevatorIndex(List<Elevator> elevators, int minFloor, int maxFloor, int bandFloors) {
+        if (bandFloors <= 0 || maxFloor < minFloor) {
+            throw new IllegalArgumentException("Invalid index shape: floors " + minFloor + " to " + maxFloor
+                    + ", band " + bandFloors);
+        }
+        this.minFloor = minFloor;
+        this.bandFloors = bandFloors;
+        this.bandCount = (maxFloor - minFloor) / bandFloors + 1;
+        this.byId = new ConcurrentHashMap<>();
+        this.slots = new ConcurrentHashMap<>();
+        this.buckets = new Set[Direction.values().length * bandCount];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = ConcurrentHashMap.newKeySet();
+        }
+        for (Elevator elevator : elevators) {
+            if (elevator.getIndex() != null) {
+                throw new IllegalStateException("Elevator " + elevator.getId() + " is already indexed");
+            }
+        }
+        for (Elevator elevator : elevators) {
+            byId.put(elevator.getId(), elevator);
+            elevator.setIndex(this);
+            update(elevator);
+        }
+    }
+
+    // The index the cars already report to, e.g. their Building's, or a new one if none has one.
+    // A car belongs to one index only: building a second would silently move it off the first.
+    public static ElevatorIndex of(List<Elevator> elevators, int minFloor, int maxFloor) {
+        ElevatorIndex shared = elevators.isEmpty() ? null : elevators.get(0).getIndex();
+        if (shared == null) {
+            return new ElevatorIndex(elevators, minFloor, maxFloor);
+        }
+        for (Elevator elevator : elevators) {
+            if (elevator.getIndex() != shared) {
+                throw new IllegalStateException("Elevator " + elevator.getId() + " is not in the shared index");
+            }
+        }
+        return shared;
+    }
+
+    public Elevator get(int id) {
+        return byId.get(id);
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    public int getBandCount() {
+        return bandCount;
+    }
+
+    public int getBandFloors() {
+        return bandFloors;
+    }
+
+    public int bandOf(int floor) {
+        return Math.max(0, Math.min(bandCount - 1, (floor - minFloor) / bandFloors));
+    }
+
+    public Set<Elevator> getBucket(Direction direction, int band) {
+        return buckets[slot(direction, band)];
+    }
+
+    void update(Elevator elevator) {
+        int slot = slot(elevator.getDirection(), bandOf(elevator.getCurrentFloor()));
+        Integer previous = slots.put(elevator, slot);
+        if (previous != null && previous == slot) {
+            return;
+        }
+        buckets[slot].add(elevator);
+        if (previous != null) {
+            buckets[previous].remove(elevator);
+        }
+    }
+
+    private int slot(Direction direction, int band) {
+        return direction.ordinal() * bandCount + band;
+    }
+}
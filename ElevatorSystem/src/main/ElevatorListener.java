@@ -0,0 +1,5 @@
+package main;
+
+public interface ElevatorListener {
+    void onFloorServed(Elevator elevator, int floor);
+}
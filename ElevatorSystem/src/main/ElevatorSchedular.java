@@ -1,5 +1,16 @@
 package main;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public interface ElevatorSchedular {
     Elevator selectElevator(int floor, Direction direction);
+
+    default List<Elevator> assignCalls(List<HallCall> calls) {
+        List<Elevator> assignments = new ArrayList<>(calls.size());
+        for (HallCall call : calls) {
+            assignments.add(selectElevator(call.getFloor(), call.getDirection()));
+        }
+        return assignments;
+    }
 }
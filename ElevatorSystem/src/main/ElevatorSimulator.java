@@ -0,0 +1,354 @@
+package main;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+
+
+public class ElevatorSimulator implements ElevatorListener {
+    private static final int CAR_BITS = 20;
+    private static final long CAR_MASK = (1L << CAR_BITS) - 1;
+
+    private final int elevatorCount;
+    private final int minFloor;
+    private final int maxFloor;
+    private final long millisPerFloor;
+    private final long doorMillis;
+    private final long batchMillis;
+    private final Function<List<Elevator>, ElevatorSchedular> schedulerFactory;
+    private TrafficLearner learner;
+
+    private List<HallCall> calls;
+    private List<Elevator> elevators;
+    private ElevatorSchedular scheduler;
+    private PriorityQueue<Long> events;
+    private boolean[] scheduled;
+    private ArrayDeque<Integer>[] waiting;
+    private ArrayDeque<Integer>[][] waitingFor;
+    private ArrayDeque<Integer> batch;
+    private long flushAt;
+    private ArrayDeque<Integer>[][] riding;
+    private boolean[][] assigned;
+    private int[] assignedCars;
+    private ArrayDeque<Integer> pendingFloors;
+    private boolean[] pending;
+    private long[] waitTimes;
+    private long[] journeyTimes;
+    private int waitCount;
+    private int journeyCount;
+    private long[] boardedAt;
+    private long[] arrivedPerHour;
+    private long[] deliveredPerHour;
+    private ElevatorTelemetry telemetry;
+    private long stops;
+    private long boardings;
+    private long clock;
+    private boolean served;
+
+    public ElevatorSimulator(int elevatorCount, int minFloor, int maxFloor) {
+        this(elevatorCount, minFloor, maxFloor, Elevator.DELAY_PER_FLOOR, Elevator.DOOR_MILLIS, 0,
+                cars -> new SmartElevatorScheduler(cars, minFloor, maxFloor));
+    }
+
+    public ElevatorSimulator(int elevatorCount, int minFloor, int maxFloor, long batchMillis,
+                             Function<List<Elevator>, ElevatorSchedular> schedulerFactory) {
+        this(elevatorCount, minFloor, maxFloor, Elevator.DELAY_PER_FLOOR, Elevator.DOOR_MILLIS, batchMillis,
+                schedulerFactory);
+    }
+
+    public ElevatorSimulator(int elevatorCount, int minFloor, int maxFloor, long millisPerFloor,
+                             long doorMillis, long batchMillis,
+                             Function<List<Elevator>, ElevatorSchedular> schedulerFactory) {
+        if (elevatorCount <= 0 || elevatorCount > CAR_MASK) {
+            throw new IllegalArgumentException("Invalid elevator count: " + elevatorCount);
+        }
+        this.elevatorCount = elevatorCount;
+        this.minFloor = minFloor;
+        this.maxFloor = maxFloor;
+        this.millisPerFloor = millisPerFloor;
+        this.doorMillis = doorMillis;
+        this.batchMillis = batchMillis;
+        this.schedulerFactory = schedulerFactory;
+    }
+
+    public void setTrafficLearner(TrafficLearner learner) {
+        this.learner = learner;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public SimulationReport run(List<HallCall> trace) {
+        long startedAt = System.currentTimeMillis();
+        int floors = maxFloor - minFloor + 1;
+
+        calls = trace;
+        elevators = new ArrayList<>();
+        for (int i = 0; i < elevatorCount; i++) {
+            Elevator elevator = new Elevator(i + 1, minFloor, minFloor, maxFloor);
+            elevator.setLogging(false);
+            elevator.setListener(this);
+            elevators.add(elevator);
+        }
+        if (learner != null) {
+            ParkingPolicy parking = new ParkingPolicy(learner, elevators, () -> clock);
+            for (Elevator elevator : elevators) {
+                elevator.setParkingPolicy(parking);
+            }
+        }
+        scheduler = schedulerFactory.apply(elevators);
+        events = new PriorityQueue<>();
+        scheduled = new boolean[elevatorCount];
+        waiting = new ArrayDeque[floors];
+        riding = new ArrayDeque[elevatorCount][floors];
+        waitingFor = new ArrayDeque[elevatorCount][floors];
+        batch = new ArrayDeque<>();
+        flushAt = Long.MAX_VALUE;
+        assigned = new boolean[elevatorCount][floors];
+        assignedCars = new int[floors];
+        pendingFloors = new ArrayDeque<>();
+        pending = new boolean[floors];
+        waitTimes = new long[trace.size()];
+        journeyTimes = new long[trace.size()];
+        boardedAt = new long[trace.size()];
+        arrivedPerHour = new long[24];
+        deliveredPerHour = new long[24];
+        telemetry = new ElevatorTelemetry(elevatorCount, minFloor, maxFloor);
+        waitCount = 0;
+        journeyCount = 0;
+        stops = 0;
+        boardings = 0;
+        clock = 0;
+
+        int nextCall = 0;
+        while (nextCall < trace.size() || !events.isEmpty() || !batch.isEmpty()) {
+            long nextStep = events.isEmpty() ? Long.MAX_VALUE : events.peek() >>> CAR_BITS;
+            if (nextCall < trace.size() && trace.get(nextCall).getTime() <= Math.min(nextStep, flushAt)) {
+                HallCall call = trace.get(nextCall);
+                if (call.getFloor() < minFloor || call.getFloor() > maxFloor
+                        || call.getDestination() < minFloor || call.getDestination() > maxFloor) {
+                    throw new IllegalArgumentException("Hall call outside building: " + call);
+                }
+                clock = Math.max(clock, call.getTime());
+                arrive(nextCall++);
+            } else if (flushAt <= nextStep) {
+                clock = Math.max(clock, flushAt);
+                flushBatch();
+            } else {
+                long event = events.poll();
+                clock = event >>> CAR_BITS;
+                stepElevator((int) (event & CAR_MASK));
+                dispatchPendingFloors();
+            }
+        }
+
+        return new SimulationReport(Arrays.copyOf(waitTimes, waitCount), Arrays.copyOf(journeyTimes, journeyCount),
+                stops, boardings, clock, System.currentTimeMillis() - startedAt, telemetry.snapshot(),
+                arrivedPerHour, deliveredPerHour);
+    }
+
+    private void stepElevator(int index) {
+        Elevator elevator = elevators.get(index);
+        scheduled[index] = false;
+        served = false;
+        if (elevator.step()) {
+            schedule(index, clock + millisPerFloor + (served ? doorMillis : 0));
+        }
+    }
+
+    private void arrive(int passenger) {
+        arrivedPerHour = countHour(arrivedPerHour);
+        if (learner != null) {
+            learner.recordCall(calls.get(passenger).getFloor(), clock);
+        }
+        if (batchMillis > 0) {
+            addToBatch(passenger);
+            return;
+        }
+        int floor = calls.get(passenger).getFloor();
+        queue(waiting, floor).add(passenger);
+        if (!pending[floor - minFloor]) {
+            dispatch(floor);
+        }
+    }
+
+    private boolean dispatch(int floor) {
+        int waitingCount = waiting[floor - minFloor].size();
+        int carsNeeded = (waitingCount + Elevator.MAX_CAPACITY - 1) / Elevator.MAX_CAPACITY;
+        if (assignedCars[floor - minFloor] >= carsNeeded) {
+            return true;
+        }
+        HallCall first = calls.get(waiting[floor - minFloor].peek());
+        long decisionStart = System.nanoTime();
+        Elevator elevator = scheduler.selectElevator(floor, first.getDirection());
+        telemetry.recordDecision(System.nanoTime() - decisionStart);
+        if (elevator == null || turnsAway(elevator, floor, waiting[floor - minFloor].peek())
+                || !elevator.addRequest(new Request(floor, first.getDirection()))) {
+            if (!pending[floor - minFloor]) {
+                pending[floor - minFloor] = true;
+                pendingFloors.add(floor);
+            }
+            return false;
+        }
+
+        int index = elevator.getId() - 1;
+        if (!assigned[index][floor - minFloor]) {
+            assigned[index][floor - minFloor] = true;
+            assignedCars[floor - minFloor]++;
+        }
+        wake(elevator, floor);
+        return true;
+    }
+
+    private void addToBatch(int passenger) {
+        batch.add(passenger);
+        if (flushAt == Long.MAX_VALUE) {
+            flushAt = clock + batchMillis;
+        }
+    }
+
+    private void flushBatch() {
+        int size = Math.min(batch.size(), elevatorCount * 2);
+        List<Integer> passengers = new ArrayList<>(size);
+        List<HallCall> window = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int passenger = batch.poll();
+            passengers.add(passenger);
+            window.add(calls.get(passenger));
+        }
+
+        long decisionStart = System.nanoTime();
+        List<Elevator> assignments = scheduler.assignCalls(window);
+        telemetry.recordDecision(System.nanoTime() - decisionStart);
+
+        List<Integer> carried = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Elevator elevator = assignments.get(i);
+            HallCall call = window.get(i);
+            if (elevator == null || turnsAway(elevator, call.getFloor(), passengers.get(i))
+                    || !elevator.addRequest(new Request(call.getFloor(), call.getDirection()))) {
+                carried.add(passengers.get(i));
+                continue;
+            }
+            queue(waitingFor[elevator.getId() - 1], call.getFloor()).add(passengers.get(i));
+            wake(elevator, call.getFloor());
+        }
+        for (int i = carried.size() - 1; i >= 0; i--) {
+            batch.addFirst(carried.get(i));
+        }
+        flushAt = batch.isEmpty() ? Long.MAX_VALUE : clock + batchMillis;
+    }
+
+    // A car already standing at the floor without room for this rider would reopen its doors and
+    // leave them behind again at the same instant, forever. It has to move off before it is sent back.
+    private boolean turnsAway(Elevator elevator, int floor, int passenger) {
+        return elevator.getCurrentFloor() == floor && !elevator.canBoard(weightOf(passenger));
+    }
+
+    private void wake(Elevator elevator, int floor) {
+        int index = elevator.getId() - 1;
+        if (!scheduled[index]) {
+            schedule(index, clock + (elevator.getCurrentFloor() == floor ? 0 : millisPerFloor));
+        }
+    }
+
+    private void dispatchPendingFloors() {
+        int attempts = pendingFloors.size();
+        while (attempts-- > 0) {
+            int floor = pendingFloors.poll();
+            pending[floor - minFloor] = false;
+            if (!dispatch(floor)) {
+                return;
+            }
+        }
+    }
+
+    private void schedule(int index, long time) {
+        scheduled[index] = true;
+        events.add((time << CAR_BITS) | index);
+    }
+
+    @Override
+    public void onFloorServed(Elevator elevator, int floor) {
+        int index = elevator.getId() - 1;
+        boolean parked = elevator.getParkingFloor() == floor;
+        long boardedBefore = boardings;
+        if (!parked) {
+            served = true;
+            stops++;
+        }
+
+        ArrayDeque<Integer> arriving = riding[index][floor - minFloor];
+        if (arriving != null && !arriving.isEmpty()) {
+            for (int passenger : arriving) {
+                elevator.alight(calls.get(passenger).getWeightKg());
+                journeyTimes[journeyCount++] = clock - calls.get(passenger).getTime();
+                deliveredPerHour = countHour(deliveredPerHour);
+                telemetry.recordRide(elevator.getId(), calls.get(passenger).getFloor(), clock - boardedAt[passenger]);
+            }
+            arriving.clear();
+        }
+
+        if (assigned[index][floor - minFloor]) {
+            assigned[index][floor - minFloor] = false;
+            assignedCars[floor - minFloor]--;
+        }
+        ArrayDeque<Integer> booked = waitingFor[index][floor - minFloor];
+        while (booked != null && !booked.isEmpty() && elevator.canBoard(weightOf(booked.peek()))) {
+            board(elevator, booked.poll());
+        }
+        while (booked != null && !booked.isEmpty()) {
+            batch.addFirst(booked.pollLast());
+            if (flushAt == Long.MAX_VALUE) {
+                flushAt = clock + batchMillis;
+            }
+        }
+
+        ArrayDeque<Integer> boarding = waiting[floor - minFloor];
+        while (boarding != null && !boarding.isEmpty() && elevator.canBoard(weightOf(boarding.peek()))) {
+            board(elevator, boarding.poll());
+        }
+        if (boarding != null && !boarding.isEmpty() && !pending[floor - minFloor]) {
+            pending[floor - minFloor] = true;
+            pendingFloors.add(floor);
+        }
+        if (parked && boardings > boardedBefore) {
+            served = true;
+            stops++;
+        }
+    }
+
+    private void board(Elevator elevator, int passenger) {
+        HallCall call = calls.get(passenger);
+        waitTimes[waitCount++] = clock - call.getTime();
+        boardedAt[passenger] = clock;
+        telemetry.recordWait(elevator.getId(), call.getFloor(), clock - call.getTime());
+        elevator.board(call.getWeightKg());
+        elevator.addDestination(call.getDestination());
+        queue(riding[elevator.getId() - 1], call.getDestination()).add(passenger);
+        boardings++;
+    }
+
+    private long[] countHour(long[] perHour) {
+        int hour = (int) (clock / TrafficGenerator.MILLIS_PER_HOUR);
+        if (hour >= perHour.length) {
+            perHour = Arrays.copyOf(perHour, Math.max(hour + 1, perHour.length * 2));
+        }
+        perHour[hour]++;
+        return perHour;
+    }
+
+    private int weightOf(int passenger) {
+        return calls.get(passenger).getWeightKg();
+    }
+
+    private ArrayDeque<Integer> queue(ArrayDeque<Integer>[] queues, int floor) {
+        ArrayDeque<Integer> queue = queues[floor - minFloor];
+        if (queue == null) {
+            queue = new ArrayDeque<>();
+            queues[floor - minFloor] = queue;
+        }
+        return queue;
+    }
+}
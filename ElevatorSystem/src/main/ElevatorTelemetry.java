@@ -0,0 +1,83 @@
+package main;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+
+public class ElevatorTelemetry {
+    private final int elevatorCount;
+    private final int minFloor;
+    private final int maxFloor;
+    private final AtomicReferenceArray<LatencyHistogram> carWait;
+    private final AtomicReferenceArray<LatencyHistogram> carRide;
+    private final AtomicReferenceArray<LatencyHistogram> floorWait;
+    private final AtomicReferenceArray<LatencyHistogram> floorRide;
+    private final LatencyHistogram decisionLatency;
+
+    public ElevatorTelemetry(int elevatorCount, int minFloor, int maxFloor) {
+        this.elevatorCount = elevatorCount;
+        this.minFloor = minFloor;
+        this.maxFloor = maxFloor;
+        this.carWait = new AtomicReferenceArray<>(elevatorCount);
+        this.carRide = new AtomicReferenceArray<>(elevatorCount);
+        this.floorWait = new AtomicReferenceArray<>(maxFloor - minFloor + 1);
+        this.floorRide = new AtomicReferenceArray<>(maxFloor - minFloor + 1);
+        this.decisionLatency = new LatencyHistogram();
+    }
+
+    public void recordWait(int elevatorId, int floor, long millis) {
+        histogram(carWait, carIndex(elevatorId)).record(millis);
+        histogram(floorWait, floorIndex(floor)).record(millis);
+    }
+
+    public void recordRide(int elevatorId, int originFloor, long millis) {
+        histogram(carRide, carIndex(elevatorId)).record(millis);
+        histogram(floorRide, floorIndex(originFloor)).record(millis);
+    }
+
+    public void recordDecision(long nanos) {
+        decisionLatency.record(nanos);
+    }
+
+    public TelemetrySnapshot snapshot() {
+        return new TelemetrySnapshot(minFloor, snapshots(carWait), snapshots(carRide),
+                snapshots(floorWait), snapshots(floorRide), decisionLatency.snapshot());
+    }
+
+    public int getElevatorCount() {
+        return elevatorCount;
+    }
+
+    private int carIndex(int elevatorId) {
+        if (elevatorId < 1 || elevatorId > elevatorCount) {
+            throw new IllegalArgumentException("Unknown elevator: " + elevatorId);
+        }
+        return elevatorId - 1;
+    }
+
+    private int floorIndex(int floor) {
+        if (floor < minFloor || floor > maxFloor) {
+            throw new IllegalArgumentException("Invalid floor: " + floor);
+        }
+        return floor - minFloor;
+    }
+
+    private static LatencyHistogram histogram(AtomicReferenceArray<LatencyHistogram> histograms, int index) {
+        LatencyHistogram histogram = histograms.get(index);
+        if (histogram == null) {
+            histograms.compareAndSet(index, null, new LatencyHistogram());
+            histogram = histograms.get(index);
+        }
+        return histogram;
+    }
+
+    private static HistogramSnapshot[] snapshots(AtomicReferenceArray<LatencyHistogram> histograms) {
+        HistogramSnapshot[] snapshots = new HistogramSnapshot[histograms.length()];
+        for (int i = 0; i < snapshots.length; i++) {
+            LatencyHistogram histogram = histograms.get(i);
+            snapshots[i] = histogram == null
+                    ? new HistogramSnapshot(new long[LatencyHistogram.BUCKET_COUNT], 0, 0)
+                    : histogram.snapshot();
+        }
+        return snapshots;
+    }
+}
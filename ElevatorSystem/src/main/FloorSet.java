@@ -0,0 +1,182 @@
+package main;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+
+public class FloorSet {
+    public static final int NONE = Integer.MIN_VALUE;
+
+    private static final int WORD_BITS = 64;
+
+    private long[] words;
+    private int baseFloor;
+    private int size;
+
+    public FloorSet() {
+        this(0, WORD_BITS - 1);
+    }
+
+    public FloorSet(int minFloor, int maxFloor) {
+        if (maxFloor < minFloor) {
+            throw new IllegalArgumentException("Invalid floor range: " + minFloor + " to " + maxFloor);
+        }
+        this.baseFloor = minFloor;
+        this.words = new long[wordIndex(maxFloor - minFloor) + 1];
+    }
+
+    public boolean add(int floor) {
+        ensureCapacity(floor);
+        int bit = floor - baseFloor;
+        int word = wordIndex(bit);
+        long mask = 1L << bit;
+        if ((words[word] & mask) != 0) {
+            return false;
+        }
+        words[word] |= mask;
+        size++;
+        return true;
+    }
+
+    public boolean remove(int floor) {
+        if (!contains(floor)) {
+            return false;
+        }
+        int bit = floor - baseFloor;
+        words[wordIndex(bit)] &= ~(1L << bit);
+        size--;
+        return true;
+    }
+
+    public boolean contains(int floor) {
+        if (floor < baseFloor || floor > highestFloor()) {
+            return false;
+        }
+        int bit = floor - baseFloor;
+        return (words[wordIndex(bit)] & (1L << bit)) != 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(words, 0);
+        size = 0;
+    }
+
+    public int first() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return ceiling(baseFloor);
+    }
+
+    public int last() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return floor(highestFloor());
+    }
+
+    public int ceiling(int floor) {
+        if (floor > highestFloor()) {
+            return NONE;
+        }
+        int bit = Math.max(floor, baseFloor) - baseFloor;
+        int word = wordIndex(bit);
+        long bits = words[word] & (-1L << bit);
+        while (true) {
+            if (bits != 0) {
+                return baseFloor + word * WORD_BITS + Long.numberOfTrailingZeros(bits);
+            }
+            if (++word == words.length) {
+                return NONE;
+            }
+            bits = words[word];
+        }
+    }
+
+    public int floor(int floor) {
+        if (floor < baseFloor) {
+            return NONE;
+        }
+        int bit = Math.min(floor, highestFloor()) - baseFloor;
+        int word = wordIndex(bit);
+        long bits = words[word] & (-1L >>> (WORD_BITS - 1 - (bit & (WORD_BITS - 1))));
+        while (true) {
+            if (bits != 0) {
+                return baseFloor + word * WORD_BITS + WORD_BITS - 1 - Long.numberOfLeadingZeros(bits);
+            }
+            if (--word < 0) {
+                return NONE;
+            }
+            bits = words[word];
+        }
+    }
+
+    public int higher(int floor) {
+        return floor == Integer.MAX_VALUE ? NONE : ceiling(floor + 1);
+    }
+
+    public int lower(int floor) {
+        return floor == Integer.MIN_VALUE ? NONE : floor(floor - 1);
+    }
+
+    public int countBetween(int fromFloor, int toFloor) {
+        int from = Math.max(fromFloor, baseFloor) - baseFloor;
+        int to = Math.min(toFloor, highestFloor()) - baseFloor;
+        if (from > to) {
+            return 0;
+        }
+        int fromWord = wordIndex(from);
+        int toWord = wordIndex(to);
+        long lastMask = -1L >>> (WORD_BITS - 1 - (to & (WORD_BITS - 1)));
+        if (fromWord == toWord) {
+            return Long.bitCount(words[fromWord] & (-1L << from) & lastMask);
+        }
+        int count = Long.bitCount(words[fromWord] & (-1L << from));
+        for (int word = fromWord + 1; word < toWord; word++) {
+            count += Long.bitCount(words[word]);
+        }
+        return count + Long.bitCount(words[toWord] & lastMask);
+    }
+
+    public int[] toArray() {
+        int[] floors = new int[size];
+        int i = 0;
+        for (int floor = ceiling(baseFloor); floor != NONE; floor = higher(floor)) {
+            floors[i++] = floor;
+        }
+        return floors;
+    }
+
+    private int highestFloor() {
+        return baseFloor + words.length * WORD_BITS - 1;
+    }
+
+    private void ensureCapacity(int floor) {
+        if (floor < baseFloor) {
+            int extraWords = wordIndex(baseFloor - floor - 1) + 1;
+            long[] grown = new long[words.length + extraWords];
+            System.arraycopy(words, 0, grown, extraWords, words.length);
+            words = grown;
+            baseFloor -= extraWords * WORD_BITS;
+        } else if (floor > highestFloor()) {
+            words = Arrays.copyOf(words, wordIndex(floor - baseFloor) + 1);
+        }
+    }
+
+    private static int wordIndex(int bit) {
+        return bit >>> 6;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
@@ -0,0 +1,56 @@
+package main;
+
+
+public class HallCall {
+    private final long time;
+    private final int floor;
+    private final int destination;
+    private final int weightKg;
+
+    public HallCall(long time, int floor, int destination) {
+        this(time, floor, destination, Elevator.AVERAGE_PASSENGER_KG);
+    }
+
+    public HallCall(long time, int floor, int destination, int weightKg) {
+        if (floor == destination) {
+            throw new IllegalArgumentException("Destination must differ from floor " + floor);
+        }
+        if (weightKg <= 0 || weightKg > Elevator.RATED_LOAD_KG) {
+            throw new IllegalArgumentException("Invalid passenger weight: " + weightKg + " kg");
+        }
+        this.time = time;
+        this.floor = floor;
+        this.destination = destination;
+        this.weightKg = weightKg;
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    public int getFloor() {
+        return floor;
+    }
+
+    public int getDestination() {
+        return destination;
+    }
+
+    public int getWeightKg() {
+        return weightKg;
+    }
+
+    public Direction getDirection() {
+        return destination > floor ? Direction.UP : Direction.DOWN;
+    }
+
+    @Override
+    public String toString() {
+        return "HallCall{" +
+                "time=" + time +
+                ", floor=" + floor +
+                ", destination=" + destination +
+                ", weightKg=" + weightKg +
+                '}';
+    }
+}
@@ -0,0 +1,71 @@
+package main;
+
+
+public class HistogramSnapshot {
+    private final long[] counts;
+    private final long count;
+    private final long total;
+    private final long max;
+
+    HistogramSnapshot(long[] counts, long total, long max) {
+        this.counts = counts;
+        long sum = 0;
+        for (long bucketCount : counts) {
+            sum += bucketCount;
+        }
+        this.count = sum;
+        this.total = total;
+        this.max = max;
+    }
+
+    public static HistogramSnapshot merge(Iterable<HistogramSnapshot> snapshots) {
+        long[] merged = new long[LatencyHistogram.BUCKET_COUNT];
+        long total = 0;
+        long max = 0;
+        for (HistogramSnapshot snapshot : snapshots) {
+            for (int i = 0; i < merged.length; i++) {
+                merged[i] += snapshot.counts[i];
+            }
+            total += snapshot.total;
+            max = Math.max(max, snapshot.max);
+        }
+        return new HistogramSnapshot(merged, total, max);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0 : (double) total / count;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public long getPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(LatencyHistogram.highestValueIn(i), max);
+            }
+        }
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + count +
+                ", mean=" + String.format("%.1f", getMean()) +
+                ", p50=" + getPercentile(50) +
+                ", p90=" + getPercentile(90) +
+                ", p99=" + getPercentile(99) +
+                ", max=" + max;
+    }
+}
@@ -0,0 +1,45 @@
+package main;
+
+import java.util.List;
+import java.util.function.LongSupplier;
+
+
+public class ParkingPolicy {
+    private final TrafficLearner learner;
+    private final List<Elevator> fleet;
+    private final LongSupplier clock;
+
+    public ParkingPolicy(TrafficLearner learner, List<Elevator> fleet, LongSupplier clock) {
+        this.learner = learner;
+        this.fleet = fleet;
+        this.clock = clock;
+    }
+
+    public int selectParkingFloor(Elevator car) {
+        double[] demand = learner.getDemand(clock.getAsLong());
+        int[] waitingCars = new int[demand.length];
+        for (Elevator other : fleet) {
+            if (other == car) {
+                continue;
+            }
+            int floor = other.isParking() ? other.getParkingFloor()
+                    : other.getState() == State.IDLE ? other.getCurrentFloor() : FloorSet.NONE;
+            int slot = floor - learner.getMinFloor();
+            if (floor != FloorSet.NONE && slot >= 0 && slot < waitingCars.length) {
+                waitingCars[slot]++;
+            }
+        }
+
+        int current = car.getCurrentFloor() - learner.getMinFloor();
+        int best = current;
+        double bestShare = current >= 0 && current < demand.length ? demand[current] / (1 + waitingCars[current]) : 0;
+        for (int i = 0; i < demand.length; i++) {
+            double share = demand[i] / (1 + waitingCars[i]);
+            if (share > bestShare) {
+                bestShare = share;
+                best = i;
+            }
+        }
+        return best == current ? FloorSet.NONE : learner.getMinFloor() + best;
+    }
+}
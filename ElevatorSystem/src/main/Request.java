@@ -2,13 +2,33 @@ package main;
 
 
 public class Request {
+    public static final int NO_DESTINATION = Integer.MIN_VALUE;
+
     private final int floor;
     private final Direction direction;
+    private final int destination;
+    private final int weightKg;
     private final long timestamp;
 
     public Request(int floor, Direction direction) {
         this.floor = floor;
         this.direction = direction;
+        this.destination = NO_DESTINATION;
+        this.weightKg = Elevator.AVERAGE_PASSENGER_KG;
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    public Request(int floor, int destination, int weightKg) {
+        if (floor == destination) {
+            throw new IllegalArgumentException("Destination must differ from floor " + floor);
+        }
+        if (weightKg <= 0 || weightKg > Elevator.RATED_LOAD_KG) {
+            throw new IllegalArgumentException("Invalid passenger weight: " + weightKg + " kg");
+        }
+        this.floor = floor;
+        this.direction = destination > floor ? Direction.UP : Direction.DOWN;
+        this.destination = destination;
+        this.weightKg = weightKg;
         this.timestamp = System.currentTimeMillis();
     }
 
@@ -20,6 +40,18 @@ public class Request {
         return direction;
     }
 
+    public int getDestination() {
+        return destination;
+    }
+
+    public boolean hasDestination() {
+        return destination != NO_DESTINATION;
+    }
+
+    public int getWeightKg() {
+        return weightKg;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
@@ -29,6 +61,7 @@ public class Request {
         return "Request{" +
                 "floor=" + floor +
                 ", direction=" + direction +
+                (hasDestination() ? ", destination=" + destination + ", weightKg=" + weightKg : "") +
                 ", timestamp=" + timestamp +
                 '}';
     }
@@ -1,5 +1,7 @@
 package main;
 
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.Queue;
 
@@ -25,6 +27,26 @@ public class RequestQueue {
         return requests.poll();
     }
 
+    public void removeFloor(int floor) {
+        removeFloor(floor, null);
+    }
+
+    public int removeFloor(int floor, Collection<Request> removedRequests) {
+        int removed = 0;
+        Iterator<Request> iterator = requests.iterator();
+        while (iterator.hasNext()) {
+            Request request = iterator.next();
+            if (request.getFloor() == floor) {
+                iterator.remove();
+                removed++;
+                if (removedRequests != null) {
+                    removedRequests.add(request);
+                }
+            }
+        }
+        return removed;
+    }
+
     public boolean hasRequests() {
         return !requests.isEmpty();
     }
@@ -0,0 +1,137 @@
+package main;
+
+import java.util.Arrays;
+
+
+public class SimulationReport {
+    private final long[] waitTimes;
+    private final long[] journeyTimes;
+    private final long stops;
+    private final long boardings;
+    private final long simulatedMillis;
+    private final long wallClockMillis;
+    private final TelemetrySnapshot telemetry;
+    private final long[] arrivedPerHour;
+    private final long[] deliveredPerHour;
+
+    public SimulationReport(long[] waitTimes, long[] journeyTimes, long stops, long boardings,
+                            long simulatedMillis, long wallClockMillis,
+                            TelemetrySnapshot telemetry, long[] arrivedPerHour, long[] deliveredPerHour) {
+        this.waitTimes = waitTimes.clone();
+        this.journeyTimes = journeyTimes.clone();
+        Arrays.sort(this.waitTimes);
+        Arrays.sort(this.journeyTimes);
+        this.stops = stops;
+        this.boardings = boardings;
+        this.simulatedMillis = simulatedMillis;
+        this.wallClockMillis = wallClockMillis;
+        this.telemetry = telemetry;
+        int hours = Math.max(arrivedPerHour.length, deliveredPerHour.length);
+        this.arrivedPerHour = Arrays.copyOf(arrivedPerHour, hours);
+        this.deliveredPerHour = Arrays.copyOf(deliveredPerHour, hours);
+    }
+
+    public int getPassengersServed() {
+        return journeyTimes.length;
+    }
+
+    public long getWaitPercentile(double percentile) {
+        return percentile(waitTimes, percentile);
+    }
+
+    public long getJourneyPercentile(double percentile) {
+        return percentile(journeyTimes, percentile);
+    }
+
+    public long getDecisionLatencyPercentile(double percentile) {
+        return telemetry.getDecisionLatency().getPercentile(percentile);
+    }
+
+    public double getAverageWait() {
+        return average(waitTimes);
+    }
+
+    public double getAverageJourney() {
+        return average(journeyTimes);
+    }
+
+    public double getPassengersPerStop() {
+        return stops == 0 ? 0 : (double) boardings / stops;
+    }
+
+    public long getStops() {
+        return stops;
+    }
+
+    public long getSimulatedMillis() {
+        return simulatedMillis;
+    }
+
+    public long getWallClockMillis() {
+        return wallClockMillis;
+    }
+
+    public long[] getDeliveredPerHour() {
+        return deliveredPerHour.clone();
+    }
+
+    public long getPeakHourlyThroughput() {
+        long peak = 0;
+        for (long delivered : deliveredPerHour) {
+            peak = Math.max(peak, delivered);
+        }
+        return peak;
+    }
+
+    public long getMaxHourlyBacklog() {
+        long backlog = 0;
+        long maxBacklog = 0;
+        for (int hour = 0; hour < arrivedPerHour.length; hour++) {
+            backlog += arrivedPerHour[hour] - deliveredPerHour[hour];
+            maxBacklog = Math.max(maxBacklog, backlog);
+        }
+        return maxBacklog;
+    }
+
+    public TelemetrySnapshot getTelemetry() {
+        return telemetry;
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static double average(long[] values) {
+        if (values.length == 0) {
+            return 0;
+        }
+        double sum = 0;
+        for (long value : values) {
+            sum += value;
+        }
+        return sum / values.length;
+    }
+
+    public void print() {
+        System.out.println("\n=== Simulation Report ===");
+        System.out.println("Passengers served: " + getPassengersServed());
+        System.out.printf("Simulated time:    %.1f h (in %d ms)%n", simulatedMillis / 3_600_000.0, wallClockMillis);
+        System.out.printf("Wait    (s) avg %.1f | p50 %.1f | p90 %.1f | p99 %.1f | max %.1f%n",
+                getAverageWait() / 1000, getWaitPercentile(50) / 1000.0, getWaitPercentile(90) / 1000.0,
+                getWaitPercentile(99) / 1000.0, getWaitPercentile(100) / 1000.0);
+        System.out.printf("Journey (s) avg %.1f | p50 %.1f | p90 %.1f | p99 %.1f | max %.1f%n",
+                getAverageJourney() / 1000, getJourneyPercentile(50) / 1000.0, getJourneyPercentile(90) / 1000.0,
+                getJourneyPercentile(99) / 1000.0, getJourneyPercentile(100) / 1000.0);
+        System.out.printf("Passengers per stop: %.2f%n", getPassengersPerStop());
+        System.out.printf("Throughput: peak %d passengers/h | max backlog at an hour's end %d%n",
+                getPeakHourlyThroughput(), getMaxHourlyBacklog());
+        System.out.printf("Dispatch decision (µs) p50 %.1f | p99 %.1f | max %.1f%n",
+                getDecisionLatencyPercentile(50) / 1000.0, getDecisionLatencyPercentile(99) / 1000.0,
+                getDecisionLatencyPercentile(100) / 1000.0);
+        System.out.println("=========================\n");
+    }
+}
@@ -5,11 +5,17 @@ import java.util.List;
 
 public class SmartElevatorScheduler implements ElevatorSchedular {
     private List<Elevator> elevators;
+    private ElevatorIndex index;
     private int minFloor;
     private int maxFloor;
 
     public SmartElevatorScheduler(List<Elevator> elevators, int minFloor, int maxFloor) {
+        this(elevators, ElevatorIndex.of(elevators, minFloor, maxFloor), minFloor, maxFloor);
+    }
+
+    public SmartElevatorScheduler(List<Elevator> elevators, ElevatorIndex index, int minFloor, int maxFloor) {
         this.elevators = elevators;
+        this.index = index;
         this.minFloor = minFloor;
         this.maxFloor = maxFloor;
     }
@@ -18,17 +24,40 @@ public class SmartElevatorScheduler implements ElevatorSchedular {
     public Elevator selectElevator(int floor, Direction direction) {
         Elevator bestElevator = null;
         double bestScore = Double.NEGATIVE_INFINITY;
+        int requestBand = index.bandOf(floor);
 
-        for (Elevator elevator : elevators) {
-            if (elevator.isFull()) {
-                continue;
+        for (int ring = 0; ring < index.getBandCount(); ring++) {
+            int lowerBand = requestBand - ring;
+            int upperBand = requestBand + ring;
+            if (lowerBand < 0 && upperBand >= index.getBandCount()) {
+                break;
             }
-
-            double score = calculateElevatorScore(elevator, floor, direction);
-            
-            if (score > bestScore) {
-                bestScore = score;
-                bestElevator = elevator;
+            int nearestDistance = ring == 0 ? 0 : (ring - 1) * index.getBandFloors() + 1;
+
+            boolean reachable = false;
+            for (Direction bucketDirection : Direction.values()) {
+                if (maxPossibleScore(nearestDistance, bucketDirection, direction) < bestScore) {
+                    continue;
+                }
+                reachable = true;
+                for (int band = lowerBand; band <= upperBand; band += Math.max(1, upperBand - lowerBand)) {
+                    if (band < 0 || band >= index.getBandCount()) {
+                        continue;
+                    }
+                    for (Elevator elevator : index.getBucket(bucketDirection, band)) {
+                        if (elevator.isFull() || elevator.isBookedUp()) {
+                            continue;
+                        }
+                        double score = calculateElevatorScore(elevator, floor, direction);
+                        if (score > bestScore || (score == bestScore && elevator.getId() < bestElevator.getId())) {
+                            bestScore = score;
+                            bestElevator = elevator;
+                        }
+                    }
+                }
+            }
+            if (!reachable) {
+                break;
             }
         }
 
@@ -44,29 +73,34 @@ public class SmartElevatorScheduler implements ElevatorSchedular {
         double score = 0;
 
         int distance = Math.abs(elevator.getCurrentFloor() - requestFloor);
-        int maxDistance = maxFloor - minFloor;
-        double distanceScore = 10 * (1 - (double) distance / maxDistance);
-        score += distanceScore * 0.5; // 50% weight
+        score += distanceScore(distance) * 0.5; // 50% weight
 
-        Direction elevatorDir = elevator.getDirection();
-        double directionScore = 0;
-        
-        if (elevatorDir == Direction.IDLE) {
-            directionScore = 10;
-        } else if (elevatorDir == direction) {
-            directionScore = 8; 
-        } else if (elevatorDir != direction) {
-            directionScore = 2; 
-        }
-        score += directionScore * 0.3; 
+        score += directionScore(elevator.getDirection(), direction) * 0.3; 
 
-        int maxCapacity = 10;
-        double loadScore = 10 * (1 - (double) elevator.getCurrentPassengers() / maxCapacity);
+        double loadScore = 10 * (1 - elevator.getLoadFactor());
         score += loadScore * 0.2; 
 
         return score;
     }
 
+    private double maxPossibleScore(int distance, Direction elevatorDir, Direction direction) {
+        return distanceScore(distance) * 0.5 + directionScore(elevatorDir, direction) * 0.3 + 10 * 0.2;
+    }
+
+    private double distanceScore(int distance) {
+        int maxDistance = maxFloor - minFloor;
+        return 10 * (1 - (double) distance / maxDistance);
+    }
+
+    private double directionScore(Direction elevatorDir, Direction direction) {
+        if (elevatorDir == Direction.IDLE) {
+            return 10;
+        } else if (elevatorDir == direction) {
+            return 8; 
+        }
+        return 2; 
+    }
+
     private Elevator selectLeastLoadedElevator() {
         Elevator leastLoaded = elevators.get(0);
         for (Elevator elevator : elevators) {
@@ -0,0 +1,74 @@
+package main;
+
+import java.util.Arrays;
+
+
+public class TelemetrySnapshot {
+    private final int minFloor;
+    private final HistogramSnapshot[] carWait;
+    private final HistogramSnapshot[] carRide;
+    private final HistogramSnapshot[] floorWait;
+    private final HistogramSnapshot[] floorRide;
+    private final HistogramSnapshot decisionLatency;
+    private final HistogramSnapshot wait;
+    private final HistogramSnapshot ride;
+
+    TelemetrySnapshot(int minFloor, HistogramSnapshot[] carWait, HistogramSnapshot[] carRide,
+                      HistogramSnapshot[] floorWait, HistogramSnapshot[] floorRide,
+                      HistogramSnapshot decisionLatency) {
+        this.minFloor = minFloor;
+        this.carWait = carWait;
+        this.carRide = carRide;
+        this.floorWait = floorWait;
+        this.floorRide = floorRide;
+        this.decisionLatency = decisionLatency;
+        this.wait = HistogramSnapshot.merge(Arrays.asList(carWait));
+        this.ride = HistogramSnapshot.merge(Arrays.asList(carRide));
+    }
+
+    public HistogramSnapshot getWait() {
+        return wait;
+    }
+
+    public HistogramSnapshot getRide() {
+        return ride;
+    }
+
+    public HistogramSnapshot getCarWait(int elevatorId) {
+        return carWait[elevatorId - 1];
+    }
+
+    public HistogramSnapshot getCarRide(int elevatorId) {
+        return carRide[elevatorId - 1];
+    }
+
+    public HistogramSnapshot getFloorWait(int floor) {
+        return floorWait[floor - minFloor];
+    }
+
+    public HistogramSnapshot getFloorRide(int floor) {
+        return floorRide[floor - minFloor];
+    }
+
+    public HistogramSnapshot getDecisionLatency() {
+        return decisionLatency;
+    }
+
+    public void print() {
+        System.out.println("\n=== Elevator Telemetry ===");
+        System.out.println("Wait (ms):      " + wait);
+        System.out.println("Ride (ms):      " + ride);
+        System.out.println("Dispatch (ns):  " + decisionLatency);
+        for (int i = 0; i < carWait.length; i++) {
+            if (carWait[i].getCount() > 0) {
+                System.out.println("  Elevator " + (i + 1) + " wait: " + carWait[i]);
+            }
+        }
+        for (int i = 0; i < floorWait.length; i++) {
+            if (floorWait[i].getCount() > 0) {
+                System.out.println("  Floor " + (minFloor + i) + " wait: " + floorWait[i]);
+            }
+        }
+        System.out.println("==========================\n");
+    }
+}
@@ -0,0 +1,53 @@
+package main;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+
+public class TimerWheel<T> {
+    private final List<List<Timer<T>>> slots;
+    private long currentTick;
+
+    public TimerWheel(int slotCount) {
+        this.slots = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            slots.add(new ArrayList<>());
+        }
+        this.currentTick = 0;
+    }
+
+    public void schedule(T item, long delayTicks) {
+        long deadline = currentTick + Math.max(1, delayTicks);
+        slots.get((int) (deadline % slots.size())).add(new Timer<>(item, deadline));
+    }
+
+    public List<T> advance() {
+        currentTick++;
+        List<Timer<T>> slot = slots.get((int) (currentTick % slots.size()));
+        List<T> due = new ArrayList<>();
+        Iterator<Timer<T>> timers = slot.iterator();
+        while (timers.hasNext()) {
+            Timer<T> timer = timers.next();
+            if (timer.deadline <= currentTick) {
+                due.add(timer.item);
+                timers.remove();
+            }
+        }
+        return due;
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    private static class Timer<T> {
+        private final T item;
+        private final long deadline;
+
+        Timer(T item, long deadline) {
+            this.item = item;
+            this.deadline = deadline;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+
+public class TrafficGenerator {
+    public static final long MILLIS_PER_HOUR = 3_600_000L;
+    public static final long MILLIS_PER_DAY = 24 * MILLIS_PER_HOUR;
+
+    private static final double[] HOURLY_WEIGHTS = {
+            1, 1, 1, 1, 1, 2, 4, 10, 16, 10, 6, 8,
+            12, 8, 6, 6, 8, 14, 10, 6, 4, 3, 2, 1
+    };
+
+    private final int minFloor;
+    private final int maxFloor;
+    private final Random random;
+    private final Random weights;
+
+    public TrafficGenerator(int minFloor, int maxFloor, long seed) {
+        if (maxFloor <= minFloor) {
+            throw new IllegalArgumentException("Building needs at least two floors");
+        }
+        this.minFloor = minFloor;
+        this.maxFloor = maxFloor;
+        this.random = new Random(seed);
+        this.weights = new Random(~seed);
+    }
+
+    public List<HallCall> generateDay(int callCount) {
+        return generateDay(callCount, 0);
+    }
+
+    public List<HallCall> generateDay(int callCount, int day) {
+        double[] cumulative = new double[HOURLY_WEIGHTS.length];
+        double total = 0;
+        for (int hour = 0; hour < HOURLY_WEIGHTS.length; hour++) {
+            total += HOURLY_WEIGHTS[hour];
+            cumulative[hour] = total;
+        }
+
+        long[] times = new long[callCount];
+        for (int i = 0; i < callCount; i++) {
+            int hour = pickHour(cumulative, random.nextDouble() * total);
+            times[i] = hour * MILLIS_PER_HOUR + (long) (random.nextDouble() * MILLIS_PER_HOUR);
+        }
+        Arrays.sort(times);
+
+        List<HallCall> calls = new ArrayList<>(callCount);
+        for (long time : times) {
+            calls.add(createCall(day * MILLIS_PER_DAY + time, (int) (time / MILLIS_PER_HOUR)));
+        }
+        return calls;
+    }
+
+    private int pickHour(double[] cumulative, double target) {
+        for (int hour = 0; hour < cumulative.length; hour++) {
+            if (target < cumulative[hour]) {
+                return hour;
+            }
+        }
+        return cumulative.length - 1;
+    }
+
+    private HallCall createCall(long time, int hour) {
+        double lobbyShare;
+        boolean upPeak = hour >= 7 && hour <= 9;
+        boolean downPeak = hour >= 16 && hour <= 18;
+        if (upPeak || downPeak) {
+            lobbyShare = 0.8;
+        } else if (hour >= 11 && hour <= 13) {
+            lobbyShare = 0.5;
+        } else {
+            lobbyShare = 0.3;
+        }
+
+        if (random.nextDouble() < lobbyShare) {
+            int upperFloor = randomUpperFloor();
+            boolean fromLobby = upPeak || (!downPeak && random.nextBoolean());
+            return fromLobby
+                    ? new HallCall(time, minFloor, upperFloor, randomWeight())
+                    : new HallCall(time, upperFloor, minFloor, randomWeight());
+        }
+
+        int floor = randomUpperFloor();
+        int destination = randomUpperFloor();
+        while (destination == floor) {
+            destination = minFloor + random.nextInt(maxFloor - minFloor + 1);
+        }
+        return new HallCall(time, floor, destination, randomWeight());
+    }
+
+    private int randomWeight() {
+        int weight = (int) Math.round(Elevator.AVERAGE_PASSENGER_KG + 12 * weights.nextGaussian());
+        return Math.max(20, Math.min(150, weight));
+    }
+
+    private int randomUpperFloor() {
+        return minFloor + 1 + random.nextInt(maxFloor - minFloor);
+    }
+}
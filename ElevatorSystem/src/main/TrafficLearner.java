@@ -0,0 +1,80 @@
+package main;
+
+
+public class TrafficLearner {
+    public static final int SLOTS_PER_DAY = 24;
+    public static final double DEFAULT_DAY_DECAY = 0.5;
+
+    private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+    private static final long SLOT_MILLIS = MILLIS_PER_DAY / SLOTS_PER_DAY;
+
+    private final int minFloor;
+    private final int maxFloor;
+    private final double dayDecay;
+    private final long utcOffsetMillis;
+    private final double[][] calls;
+    private final long[] slotDay;
+
+    public TrafficLearner(int minFloor, int maxFloor) {
+        this(minFloor, maxFloor, DEFAULT_DAY_DECAY, 0);
+    }
+
+    public TrafficLearner(int minFloor, int maxFloor, double dayDecay, long utcOffsetMillis) {
+        if (maxFloor < minFloor || dayDecay < 0 || dayDecay > 1) {
+            throw new IllegalArgumentException("Invalid learner settings");
+        }
+        this.minFloor = minFloor;
+        this.maxFloor = maxFloor;
+        this.dayDecay = dayDecay;
+        this.utcOffsetMillis = utcOffsetMillis;
+        this.calls = new double[SLOTS_PER_DAY][maxFloor - minFloor + 1];
+        this.slotDay = new long[SLOTS_PER_DAY];
+    }
+
+    public synchronized void recordCall(int floor, long timeMillis) {
+        if (floor < minFloor || floor > maxFloor) {
+            return;
+        }
+        long local = timeMillis + utcOffsetMillis;
+        int slot = slotOf(local);
+        decayTo(slot, Math.floorDiv(local, MILLIS_PER_DAY));
+        calls[slot][floor - minFloor]++;
+    }
+
+    public synchronized double[] getDemand(long timeMillis) {
+        long local = timeMillis + utcOffsetMillis;
+        long day = Math.floorDiv(local, MILLIS_PER_DAY);
+        int slot = slotOf(local);
+        int nextSlot = (slot + 1) % SLOTS_PER_DAY;
+        decayTo(slot, day);
+        decayTo(nextSlot, nextSlot == 0 ? day + 1 : day);
+
+        double progress = (double) Math.floorMod(local, SLOT_MILLIS) / SLOT_MILLIS;
+        double[] demand = new double[maxFloor - minFloor + 1];
+        for (int i = 0; i < demand.length; i++) {
+            demand[i] = (1 - progress) * calls[slot][i] + progress * calls[nextSlot][i];
+        }
+        return demand;
+    }
+
+    public int getMinFloor() {
+        return minFloor;
+    }
+
+    private void decayTo(int slot, long day) {
+        long elapsedDays = day - slotDay[slot];
+        if (elapsedDays <= 0) {
+            return;
+        }
+        double factor = Math.pow(dayDecay, elapsedDays);
+        double[] row = calls[slot];
+        for (int i = 0; i < row.length; i++) {
+            row[i] *= factor;
+        }
+        slotDay[slot] = day;
+    }
+
+    private static int slotOf(long localMillis) {
+        return (int) (Math.floorMod(localMillis, MILLIS_PER_DAY) / SLOT_MILLIS);
+    }
+}
@@ -2,6 +2,7 @@ import java.util.List;
 
 import model.DeliveryPartner;
 import model.Items;
+import model.Location;
 import model.Order;
 import model.Restaurant;
 import model.User;
@@ -13,14 +14,15 @@ public class App {
         RestaurantService restaurantService = RestaurantService.getInstance();
         OrderService orderService = OrderService.getInstance();
         DeliveryPartnerService deliveryPartnerService = DeliveryPartnerService.getInstance();
-        Restaurant restaurant = new Restaurant("Pizza Place",1);
+        Restaurant restaurant = new Restaurant("Pizza Place",1, new Location(12.9716, 77.5946));
         Items pizza = new Items("Pepperoni Pizza", 10.0);
         Items burger = new Items("Cheese Burger", 8.0);
         restaurant.addItems(pizza);
         restaurant.addItems(burger);
         restaurantService.addRestaurant(restaurant);
     
-        deliveryPartnerService.addDeliveryPartner(new DeliveryPartner("DHL"));
+        deliveryPartnerService.addDeliveryPartner(new DeliveryPartner("DHL", new Location(12.9352, 77.6245)));
+        deliveryPartnerService.addDeliveryPartner(new DeliveryPartner("FedEx", new Location(12.9750, 77.6000)));
 
         User user= new User("John Doe");
         Restaurant searchedRestaurant = restaurantService.searchRestaurant("Pizza Place");
@@ -31,5 +33,7 @@ public class App {
         List<Items> orderItems = List.of(menu.get(0), menu.get(1));
         Order order = new Order(user, searchedRestaurant, orderItems, new strategy.Card());
         orderService.placeOrder(order);
+        orderService.awaitCompletion(5_000);
+        System.out.println("Archived: " + orderService.getArchivedOrder(order.getId()));
     }
 }
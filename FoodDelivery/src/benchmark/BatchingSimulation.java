@@ -0,0 +1,234 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+
+import model.DeliveryBatch;
+import model.DeliveryPartner;
+import model.Location;
+import model.Order;
+import model.Restaurant;
+import model.User;
+import service.BatchingAssigner;
+import service.DeliveryPartnerService;
+
+// Replays a dinner rush in synthetic cities twice: once assigning each PREPARED order to its
+// nearest free partner as soon as it is ready, once through BatchingAssigner every minute.
+public class BatchingSimulation {
+    private static final double SPEED_KMH = 20;
+    private static final double PICKUP_MINUTES = 3;
+    private static final double DROP_MINUTES = 2;
+    private static final long TICK_SECONDS = 15;
+    private static final long WINDOW_SECONDS = 60;
+    private static final int HOURS = 3;
+    private static final double CITY_SPAN_DEGREES = 0.2;
+    private static final double KM_PER_DEGREE = 111.2;
+
+    public static void main(String[] args) {
+        City[] cities = {
+                new City("Dense core", 12.97, 77.59, 6, 1_500, 4_000, 2_200, 1),
+                new City("Mid-size", 19.07, 72.87, 20, 1_500, 2_500, 1_100, 2),
+                new City("Sprawling", 28.61, 77.20, 60, 1_000, 1_200, 500, 3)
+        };
+        DeliveryPartnerService deliveryPartnerService = DeliveryPartnerService.getInstance();
+        BatchingAssigner assigner = new BatchingAssigner(deliveryPartnerService);
+        System.out.printf("%d h dinner rush, %.0f km/h, %.0f min per pickup, %.0f min per drop, %d s batching window%n",
+                HOURS, SPEED_KMH, PICKUP_MINUTES, DROP_MINUTES, WINDOW_SECONDS);
+
+        for (City city : cities) {
+            city.populate(deliveryPartnerService);
+            Result perOrder = simulate(city, deliveryPartnerService, null);
+            Result batched = simulate(city, deliveryPartnerService, assigner);
+            System.out.printf("%n%s: %d hot spots, %,d restaurants, %,d orders/h, %,d partners%n",
+                    city.name, city.hotspots, city.restaurants.size(), city.ordersPerHour, city.partners.size());
+            System.out.println("                   partner-km/order  orders/partner-hour  orders/trip  ready->drop p50 / p90");
+            perOrder.print("  per order        ");
+            batched.print("  batched          ");
+        }
+    }
+
+    private static Result simulate(City city, DeliveryPartnerService deliveryPartnerService, BatchingAssigner assigner) {
+        for (int i = 0; i < city.partners.size(); i++) {
+            DeliveryPartner partner = city.partners.get(i);
+            deliveryPartnerService.updateLocation(partner, city.partnerStarts.get(i));
+            partner.release();
+        }
+        Result result = new Result(city.orders.size());
+        PriorityQueue<Trip> trips = new PriorityQueue<>((a, b) -> Double.compare(a.endSeconds, b.endSeconds));
+        List<Order> pending = new ArrayList<>();
+        int next = 0;
+        for (long now = 0; result.delivered < city.orders.size(); now += TICK_SECONDS) {
+            while (!trips.isEmpty() && trips.peek().endSeconds <= now) {
+                Trip trip = trips.poll();
+                deliveryPartnerService.updateLocation(trip.partner, trip.endLocation);
+                trip.partner.release();
+            }
+            while (next < city.orders.size() && city.readySeconds[next] <= now) {
+                pending.add(city.orders.get(next++));
+            }
+
+            if (assigner == null) {
+                for (Iterator<Order> it = pending.iterator(); it.hasNext(); ) {
+                    Order order = it.next();
+                    Location pickup = order.getRestaurant().getLocation();
+                    DeliveryPartner partner = deliveryPartnerService.searchDeliveryPartner(pickup);
+                    if (partner == null) {
+                        break;
+                    }
+                    it.remove();
+                    trips.add(result.start(city, now, new DeliveryBatch(partner, Collections.singletonList(pickup),
+                            Collections.singletonList(order), pickup.distanceKm(order.getDeliveryLocation()))));
+                }
+            } else if (now % WINDOW_SECONDS == 0 && !pending.isEmpty()) {
+                Set<Order> assigned = new HashSet<>();
+                for (DeliveryBatch batch : assigner.assign(pending)) {
+                    assigned.addAll(batch.getOrders());
+                    trips.add(result.start(city, now, batch));
+                }
+                pending.removeIf(assigned::contains);
+            }
+        }
+        return result;
+    }
+
+    private static class City {
+        private final String name;
+        private final double latitude;
+        private final double longitude;
+        private final int hotspots;
+        private final int ordersPerHour;
+        private final Random random;
+        private final List<Restaurant> restaurants = new ArrayList<>();
+        private final List<DeliveryPartner> partners = new ArrayList<>();
+        private final List<Location> partnerStarts = new ArrayList<>();
+        private final List<Order> orders = new ArrayList<>();
+        private long[] readySeconds;
+        private int firstOrderId;
+        private final int restaurantCount;
+        private final int partnerCount;
+
+        City(String name, double latitude, double longitude, int hotspots, int restaurantCount,
+             int ordersPerHour, int partnerCount, long seed) {
+            this.name = name;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.hotspots = hotspots;
+            this.restaurantCount = restaurantCount;
+            this.ordersPerHour = ordersPerHour;
+            this.partnerCount = partnerCount;
+            this.random = new Random(seed);
+        }
+
+        void populate(DeliveryPartnerService deliveryPartnerService) {
+            Location[] centers = new Location[hotspots];
+            for (int i = 0; i < hotspots; i++) {
+                centers[i] = uniform();
+            }
+            for (int i = 0; i < restaurantCount; i++) {
+                Location center = centers[random.nextInt(hotspots)];
+                restaurants.add(new Restaurant(name + " restaurant " + i, i,
+                        offset(center, Math.abs(random.nextGaussian()) * 0.7, random.nextDouble() * 2 * Math.PI)));
+            }
+            for (int i = 0; i < partnerCount; i++) {
+                Location start = uniform();
+                DeliveryPartner partner = new DeliveryPartner(name + " partner " + i, start);
+                partners.add(partner);
+                partnerStarts.add(start);
+                deliveryPartnerService.addDeliveryPartner(partner);
+            }
+
+            int orderCount = ordersPerHour * HOURS;
+            readySeconds = new long[orderCount];
+            for (int i = 0; i < orderCount; i++) {
+                readySeconds[i] = (long) (random.nextDouble() * HOURS * 3600);
+            }
+            Arrays.sort(readySeconds);
+            User user = new User(name + " customers");
+            for (int i = 0; i < orderCount; i++) {
+                Restaurant restaurant = restaurants.get(random.nextInt(restaurants.size()));
+                Location drop = offset(restaurant.getLocation(), 0.5 + random.nextDouble() * 4.5,
+                        random.nextDouble() * 2 * Math.PI);
+                orders.add(new Order(user, restaurant, restaurant.getMenu(), amount -> true, drop));
+            }
+            firstOrderId = orders.get(0).getId();
+        }
+
+        private Location uniform() {
+            return new Location(latitude + (random.nextDouble() - 0.5) * CITY_SPAN_DEGREES,
+                    longitude + (random.nextDouble() - 0.5) * CITY_SPAN_DEGREES);
+        }
+
+        private Location offset(Location from, double km, double bearing) {
+            double dLat = km * Math.cos(bearing) / KM_PER_DEGREE;
+            double dLon = km * Math.sin(bearing) / (KM_PER_DEGREE * Math.cos(Math.toRadians(from.getLatitude())));
+            return new Location(from.getLatitude() + dLat, from.getLongitude() + dLon);
+        }
+    }
+
+    private static class Trip {
+        private final DeliveryPartner partner;
+        private final Location endLocation;
+        private final double endSeconds;
+
+        Trip(DeliveryPartner partner, Location endLocation, double endSeconds) {
+            this.partner = partner;
+            this.endLocation = endLocation;
+            this.endSeconds = endSeconds;
+        }
+    }
+
+    private static class Result {
+        private final double[] waitMinutes;
+        private int delivered;
+        private int trips;
+        private double partnerKm;
+        private double busySeconds;
+
+        Result(int orderCount) {
+            this.waitMinutes = new double[orderCount];
+        }
+
+        Trip start(City city, long now, DeliveryBatch batch) {
+            Location at = batch.getPartner().getLocation();
+            double seconds = now;
+            double km = 0;
+            for (Location pickup : batch.getPickups()) {
+                km += leg(at, pickup);
+                seconds += leg(at, pickup) / SPEED_KMH * 3600 + PICKUP_MINUTES * 60;
+                at = pickup;
+            }
+            for (Order order : batch.getOrders()) {
+                Location drop = order.getDeliveryLocation();
+                km += leg(at, drop);
+                seconds += leg(at, drop) / SPEED_KMH * 3600 + DROP_MINUTES * 60;
+                at = drop;
+                int index = order.getId() - city.firstOrderId;
+                waitMinutes[index] = (seconds - city.readySeconds[index]) / 60;
+                delivered++;
+            }
+            trips++;
+            partnerKm += km;
+            busySeconds += seconds - now;
+            return new Trip(batch.getPartner(), at, seconds);
+        }
+
+        private static double leg(Location from, Location to) {
+            return from.distanceKm(to);
+        }
+
+        void print(String label) {
+            double[] sorted = waitMinutes.clone();
+            Arrays.sort(sorted);
+            System.out.printf("%s%10.2f %18.2f %16.2f %12.1f / %.1f min%n", label,
+                    partnerKm / delivered, delivered / (busySeconds / 3600), (double) delivered / trips,
+                    sorted[sorted.length / 2], sorted[(int) (sorted.length * 0.9)]);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.locks.LockSupport;
+
+import model.DeliveryPartner;
+import model.Items;
+import model.Location;
+import model.Order;
+import model.Restaurant;
+import model.User;
+import service.DeliveryPartnerService;
+import service.OrderPipeline;
+import service.OrderService;
+
+public class OrderPipelineBenchmark {
+    private static final double CENTER_LAT = 12.97;
+    private static final double CENTER_LON = 77.59;
+    private static final double SPAN_DEGREES = 0.27;
+
+    public static void main(String[] args) throws InterruptedException {
+        int ordersPerSecond = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        Random random = new Random(11);
+
+        DeliveryPartnerService partners = DeliveryPartnerService.getInstance();
+        for (int i = 0; i < 20_000; i++) {
+            partners.addDeliveryPartner(new DeliveryPartner("partner-" + i, randomLocation(random)));
+        }
+        List<Restaurant> restaurants = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            Restaurant restaurant = new Restaurant("restaurant-" + i, i, randomLocation(random));
+            restaurant.addItems(new Items("Meal", 10 + random.nextInt(20)));
+            restaurants.add(restaurant);
+        }
+        User user = new User("benchmark");
+        OrderService orderService = OrderService.getInstance();
+        OrderPipeline pipeline = orderService.getPipeline();
+        System.out.println("20,000 partners, 1,000 restaurants over a 30 km city");
+
+        run(orderService, pipeline, restaurants, user, ordersPerSecond, ordersPerSecond, random, false);
+        run(orderService, pipeline, restaurants, user, ordersPerSecond, ordersPerSecond * seconds, random, true);
+        run(orderService, pipeline, restaurants, user, Integer.MAX_VALUE, ordersPerSecond * seconds, random, true);
+        pipeline.shutdown();
+    }
+
+    private static void run(OrderService orderService, OrderPipeline pipeline, List<Restaurant> restaurants,
+                            User user, int ordersPerSecond, int orderCount, Random random, boolean report)
+            throws InterruptedException {
+        Order[] orders = new Order[orderCount];
+        for (int i = 0; i < orderCount; i++) {
+            Restaurant restaurant = restaurants.get(random.nextInt(restaurants.size()));
+            orders[i] = new Order(user, restaurant, restaurant.getMenu(), amount -> true);
+            orders[i].setLogging(false);
+        }
+        int firstId = orders[0].getId();
+        long[] placed = new long[orderCount];
+        long[] completed = new long[orderCount];
+        long[] placeNanos = new long[orderCount];
+        pipeline.setCompletionListener(order -> completed[order.getId() - firstId] = System.nanoTime());
+        long deliveredBefore = pipeline.getDelivered();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < orderCount; i++) {
+            if (ordersPerSecond != Integer.MAX_VALUE) {
+                long ahead = start + i * 1_000_000_000L / ordersPerSecond - System.nanoTime();
+                if (ahead > 0) {
+                    LockSupport.parkNanos(ahead);
+                }
+            }
+            placed[i] = System.nanoTime();
+            orderService.placeOrder(orders[i]);
+            placeNanos[i] = System.nanoTime() - placed[i];
+        }
+        if (!pipeline.awaitIdle(60_000)) {
+            System.out.println("Pipeline did not drain within 60 s: " + pipeline.getInFlight() + " in flight");
+        }
+        double elapsed = (completed[argMax(completed)] - start) / 1e9;
+        pipeline.setCompletionListener(null);
+        if (!report) {
+            return;
+        }
+
+        long[] endToEnd = new long[orderCount];
+        for (int i = 0; i < orderCount; i++) {
+            endToEnd[i] = completed[i] - placed[i];
+        }
+        Arrays.sort(endToEnd);
+        Arrays.sort(placeNanos);
+        System.out.printf("%nOffered load: %s, %,d orders%n",
+                ordersPerSecond == Integer.MAX_VALUE ? "unthrottled" : String.format("%,d / s", ordersPerSecond),
+                orderCount);
+        System.out.printf("Delivered %,d in %.2f s = %,.0f orders / s end to end%n",
+                pipeline.getDelivered() - deliveredBefore, elapsed, orderCount / elapsed);
+        System.out.printf("placeOrder returns:     p50 %.1f µs | p99 %.1f µs%n",
+                placeNanos[orderCount / 2] / 1000.0, placeNanos[(int) (orderCount * 0.99)] / 1000.0);
+        System.out.printf("Placed to DELIVERED:    p50 %.1f µs | p99 %.1f µs | max %.1f ms%n",
+                endToEnd[orderCount / 2] / 1000.0, endToEnd[(int) (orderCount * 0.99)] / 1000.0,
+                endToEnd[orderCount - 1] / 1e6);
+    }
+
+    private static int argMax(long[] values) {
+        int best = 0;
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] > values[best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private static Location randomLocation(Random random) {
+        return new Location(CENTER_LAT + (random.nextDouble() - 0.5) * SPAN_DEGREES,
+                CENTER_LON + (random.nextDouble() - 0.5) * SPAN_DEGREES);
+    }
+}
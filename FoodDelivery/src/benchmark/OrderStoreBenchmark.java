@@ -0,0 +1,125 @@
+package benchmark;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import model.DeliveryPartner;
+import model.Items;
+import model.Order;
+import model.Restaurant;
+import model.Status;
+import model.User;
+import service.OrderArchive;
+import service.OrderStore;
+
+public class OrderStoreBenchmark {
+    private static final int LOOKUPS = 200_000;
+
+    public static void main(String[] args) {
+        int total = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int active = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        Random random = new Random(5);
+
+        User[] users = new User[200_000];
+        for (int i = 0; i < users.length; i++) {
+            users[i] = new User("user-" + i);
+        }
+        Restaurant[] restaurants = new Restaurant[10_000];
+        for (int i = 0; i < restaurants.length; i++) {
+            restaurants[i] = new Restaurant("restaurant-" + i, i);
+            restaurants[i].addItems(new Items("Meal", 5 + random.nextInt(20)));
+        }
+        DeliveryPartner partner = new DeliveryPartner("courier");
+        OrderArchive archive = OrderArchive.createTemporary();
+        OrderStore store = new OrderStore(archive);
+        System.out.printf("%,d orders, %,d kept active (sliding window), %,d users, %,d restaurants, 1 vCPU%n",
+                total, active, users.length, restaurants.length);
+
+        Order[] window = new Order[active];
+        int firstId = -1;
+        int[] checkpoints = {1_000_000, 5_000_000, total};
+        int nextCheckpoint = 0;
+        long ingestNanos = 0;
+        long batchStart = System.nanoTime();
+        for (int i = 0; i < total; i++) {
+            Restaurant restaurant = restaurants[random.nextInt(restaurants.length)];
+            Order order = new Order(users[random.nextInt(users.length)], restaurant, restaurant.getMenu(), amount -> true);
+            order.setLogging(false);
+            if (firstId < 0) {
+                firstId = order.getId();
+            }
+            store.add(order);
+            order.placeOrder();
+
+            Order finished = window[i % active];
+            if (finished != null) {
+                complete(finished, partner, i % 10 == 0);
+            }
+            window[i % active] = order;
+
+            if (nextCheckpoint < checkpoints.length && i + 1 == checkpoints[nextCheckpoint]) {
+                ingestNanos += System.nanoTime() - batchStart;
+                report(store, window, users, firstId, i + 1, random);
+                nextCheckpoint++;
+                batchStart = System.nanoTime();
+            }
+        }
+        ingestNanos += System.nanoTime() - batchStart;
+        System.out.printf("%nIngest: %,.0f orders / s (add + PLACED, and one order archived per insert once the window is full)%n",
+                total / (ingestNanos / 1e9));
+        archive.close();
+    }
+
+    private static void complete(Order order, DeliveryPartner partner, boolean cancel) {
+        if (cancel) {
+            order.updateStatusToCancelled();
+            return;
+        }
+        order.updateStatusToPreparing();
+        order.updateStatusToPrepared();
+        order.setDeliveryPartner(partner);
+        order.updateStatusToOutForDelivery();
+        order.updateStatusToDelivered();
+    }
+
+    private static void report(OrderStore store, Order[] window, User[] users, int firstId, int stored, Random random) {
+        long[] byId = new long[LOOKUPS];
+        long[] archived = new long[LOOKUPS];
+        long[] byUser = new long[LOOKUPS];
+        long found = 0;
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < LOOKUPS; i++) {
+                int id = window[random.nextInt(Math.min(stored, window.length))].getId();
+                long begin = System.nanoTime();
+                found += store.get(id) == null ? 0 : 1;
+                byId[i] = System.nanoTime() - begin;
+
+                int archivedId = (int) (store.archivedCount() == 0 ? firstId
+                        : firstId + (long) (random.nextDouble() * (stored - window.length)));
+                begin = System.nanoTime();
+                found += store.getArchived(archivedId) == null ? 0 : 1;
+                archived[i] = System.nanoTime() - begin;
+
+                User user = users[random.nextInt(users.length)];
+                begin = System.nanoTime();
+                found += store.findByUser(user).size();
+                byUser[i] = System.nanoTime() - begin;
+            }
+        }
+        System.gc();
+        long heapMb = (Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory()) >> 20;
+        System.out.printf("%nAfter %,d orders: %,d active, %,d archived (%,d delivered), heap %,d MB, checksum %d%n",
+                stored, store.activeCount(), store.archivedCount(), store.countByStatus(Status.DELIVERED), heapMb, found);
+        print("get(id), active", byId);
+        if (store.archivedCount() > 0) {
+            print("getArchived(id)", archived);
+        }
+        print("findByUser(user)", byUser);
+    }
+
+    private static void print(String label, long[] nanos) {
+        Arrays.sort(nanos);
+        System.out.printf("  %-18s p50 %6.2f µs | p99 %6.2f µs%n", label,
+                nanos[nanos.length / 2] / 1000.0, nanos[(int) (nanos.length * 0.99)] / 1000.0);
+    }
+}
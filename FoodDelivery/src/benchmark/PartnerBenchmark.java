@@ -0,0 +1,156 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import model.DeliveryPartner;
+import model.Location;
+import search.PartnerLocationIndex;
+
+public class PartnerBenchmark {
+    private static final double CENTER_LAT = 12.97;
+    private static final double CENTER_LON = 77.59;
+    private static final double SPAN_DEGREES = 0.27;
+    private static final double MAX_KM = 10;
+    private static final int TARGET_UPDATES_PER_SECOND = 100_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int partnerCount = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        int updaters = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        Random random = new Random(7);
+
+        PartnerLocationIndex index = new PartnerLocationIndex();
+        List<DeliveryPartner> partners = new ArrayList<>(partnerCount);
+        for (int i = 0; i < partnerCount; i++) {
+            DeliveryPartner partner = new DeliveryPartner("partner-" + i, randomLocation(random));
+            partners.add(partner);
+            index.add(partner);
+        }
+        for (int i = 0; i < partnerCount * 7 / 10; i++) {
+            partners.get(i).tryReserve();
+        }
+        System.out.printf("%,d partners over a 30 km city, 30%% available%n", partnerCount);
+
+        int mismatches = 0;
+        for (int i = 0; i < 1_000; i++) {
+            Location pickup = randomLocation(random);
+            List<DeliveryPartner> found = index.findNearestAvailable(pickup, 1, MAX_KM);
+            DeliveryPartner expected = bruteForceNearest(partners, pickup);
+            if (found.isEmpty() ? expected != null : found.get(0) != expected) {
+                mismatches++;
+            }
+        }
+        System.out.println("Nearest-partner mismatches vs brute force: " + mismatches + " / 1000");
+
+        AtomicBoolean stop = new AtomicBoolean();
+        LongAdder updates = new LongAdder();
+        Thread[] threads = new Thread[updaters];
+        long perThread = TARGET_UPDATES_PER_SECOND / updaters;
+        for (int t = 0; t < updaters; t++) {
+            threads[t] = new Thread(() -> moveRandomly(index, partners, stop, updates, perThread));
+        }
+        long start = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+
+        int assignments = 20_000;
+        long[] nanos = new long[assignments];
+        int unassigned = 0;
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < assignments; i++) {
+                Location pickup = randomLocation(random);
+                long begin = System.nanoTime();
+                DeliveryPartner assigned = null;
+                for (DeliveryPartner candidate : index.findNearestAvailable(pickup, 8, MAX_KM)) {
+                    if (candidate.tryReserve()) {
+                        assigned = candidate;
+                        break;
+                    }
+                }
+                nanos[i] = System.nanoTime() - begin;
+                if (assigned == null) {
+                    unassigned++;
+                } else {
+                    assigned.release();
+                }
+            }
+        }
+        stop.set(true);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Arrays.sort(nanos);
+        System.out.printf("Location updates: %,.0f / s (%d paced updater threads, concurrent with assignment)%n",
+                updates.sum() / seconds, updaters);
+        System.out.printf("Assignment: p50 %.1f µs | p99 %.1f µs | max %.1f µs | unassigned %d%n",
+                nanos[assignments / 2] / 1000.0, nanos[(int) (assignments * 0.99)] / 1000.0,
+                nanos[assignments - 1] / 1000.0, unassigned);
+
+        stop.set(false);
+        updates.reset();
+        long updateOnlyStart = System.nanoTime();
+        for (int t = 0; t < updaters; t++) {
+            threads[t] = new Thread(() -> moveRandomly(index, partners, stop, updates, Long.MAX_VALUE));
+            threads[t].start();
+        }
+        Thread.sleep(2_000);
+        stop.set(true);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        System.out.printf("Location updates, unthrottled: %,.0f / s%n",
+                updates.sum() / ((System.nanoTime() - updateOnlyStart) / 1e9));
+    }
+
+    private static void moveRandomly(PartnerLocationIndex index, List<DeliveryPartner> partners, AtomicBoolean stop,
+                                     LongAdder updates, long perSecond) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long started = System.nanoTime();
+        long done = 0;
+        while (!stop.get()) {
+            for (int i = 0; i < 100; i++) {
+                DeliveryPartner partner = partners.get(random.nextInt(partners.size()));
+                Location at = partner.getLocation();
+                index.updateLocation(partner, clamp(at.getLatitude() + (random.nextDouble() - 0.5) * 0.001,
+                        at.getLongitude() + (random.nextDouble() - 0.5) * 0.001));
+            }
+            done += 100;
+            updates.add(100);
+            long ahead = done * 1_000_000_000L / perSecond - (System.nanoTime() - started);
+            if (perSecond != Long.MAX_VALUE && ahead > 0) {
+                LockSupport.parkNanos(ahead);
+            }
+        }
+    }
+
+    private static DeliveryPartner bruteForceNearest(List<DeliveryPartner> partners, Location pickup) {
+        DeliveryPartner best = null;
+        double bestDistance = MAX_KM;
+        for (DeliveryPartner partner : partners) {
+            double distance = pickup.distanceKm(partner.getLocation());
+            if (partner.isAvailable() && distance <= bestDistance) {
+                best = partner;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+    private static Location randomLocation(Random random) {
+        return new Location(CENTER_LAT + (random.nextDouble() - 0.5) * SPAN_DEGREES,
+                CENTER_LON + (random.nextDouble() - 0.5) * SPAN_DEGREES);
+    }
+
+    private static Location clamp(double latitude, double longitude) {
+        return new Location(Math.max(-90, Math.min(90, latitude)), Math.max(-180, Math.min(180, longitude)));
+    }
+}
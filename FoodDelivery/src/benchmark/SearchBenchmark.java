@@ -0,0 +1,94 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import model.Restaurant;
+import search.RestaurantSearchIndex;
+
+public class SearchBenchmark {
+    private static final String[] ADJECTIVES = {
+        "Golden", "Spicy", "Royal", "Little", "Happy", "Urban", "Green", "Blue", "Red", "Silver",
+        "Lucky", "Hungry", "Crispy", "Fresh", "Old", "New", "Grand", "Sunny", "Smoky", "Sweet"
+    };
+    private static final String[] CUISINES = {
+        "Pizza", "Burger", "Sushi", "Curry", "Taco", "Noodle", "Dumpling", "Kebab", "Biryani", "Pasta",
+        "Ramen", "Falafel", "Grill", "Bakery", "Bistro", "Diner", "Wok", "Tandoor", "Cafe", "Deli"
+    };
+    private static final String[] SUFFIXES = {
+        "House", "Kitchen", "Corner", "Express", "Palace", "Garden", "Hub", "Point", "Shack", "Bar"
+    };
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 300_000;
+        int queries = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        Random random = new Random(42);
+
+        List<String> names = new ArrayList<>(count);
+        RestaurantSearchIndex index = new RestaurantSearchIndex();
+        long buildStart = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            String name = randomName(random);
+            names.add(name);
+            index.add(new Restaurant(name, i + 1));
+        }
+        System.out.printf("Indexed %,d restaurants in %d ms%n", count, (System.nanoTime() - buildStart) / 1_000_000);
+
+        for (int round = 0; round < 2; round++) {
+            boolean report = round == 1;
+            run("exact", queries, report, () -> index.findExact(names.get(random.nextInt(count))));
+            run("prefix (per keystroke)", queries, report, () -> {
+                String name = names.get(random.nextInt(count));
+                index.autocomplete(name.substring(0, 1 + random.nextInt(name.length())), RestaurantSearchIndex.DEFAULT_LIMIT);
+            });
+            run("fuzzy (one typo)", queries, report,
+                    () -> index.fuzzySearch(typo(names.get(random.nextInt(count)), random), RestaurantSearchIndex.DEFAULT_LIMIT));
+            run("ranked search", queries, report,
+                    () -> index.search(typo(names.get(random.nextInt(count)), random), RestaurantSearchIndex.DEFAULT_LIMIT));
+        }
+
+        int found = 0;
+        for (int i = 0; i < queries; i++) {
+            int target = random.nextInt(count);
+            for (Restaurant match : index.search(typo(names.get(target), random), RestaurantSearchIndex.DEFAULT_LIMIT)) {
+                if (match.getId() == target + 1) {
+                    found++;
+                    break;
+                }
+            }
+        }
+        System.out.printf("Typo recall@%d: %.1f%%%n", RestaurantSearchIndex.DEFAULT_LIMIT, 100.0 * found / queries);
+    }
+
+    private static void run(String label, int queries, boolean report, Runnable query) {
+        long[] nanos = new long[queries];
+        for (int i = 0; i < queries; i++) {
+            long start = System.nanoTime();
+            query.run();
+            nanos[i] = System.nanoTime() - start;
+        }
+        if (!report) {
+            return;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%-24s p50 %7.1f µs | p99 %7.1f µs | max %8.1f µs%n", label,
+                nanos[queries / 2] / 1000.0, nanos[(int) (queries * 0.99)] / 1000.0, nanos[queries - 1] / 1000.0);
+    }
+
+    static String randomName(Random random) {
+        String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + CUISINES[random.nextInt(CUISINES.length)];
+        if (random.nextBoolean()) {
+            name += " " + SUFFIXES[random.nextInt(SUFFIXES.length)];
+        }
+        return name + " " + (1 + random.nextInt(999));
+    }
+
+    private static String typo(String name, Random random) {
+        int at = random.nextInt(name.length());
+        char[] chars = name.toCharArray();
+        chars[at] = (char) ('a' + random.nextInt(26));
+        return new String(chars);
+    }
+}
@@ -0,0 +1,50 @@
+package model;
+
+// Compact record of a DELIVERED or CANCELLED order once it has left the in-memory store.
+public class ArchivedOrder {
+    int id;
+    Status status;
+    int restaurantId;
+    int itemCount;
+    double amount;
+    long archivedAtMillis;
+
+    public ArchivedOrder(int id, Status status, int restaurantId, int itemCount, double amount, long archivedAtMillis) {
+        this.id = id;
+        this.status = status;
+        this.restaurantId = restaurantId;
+        this.itemCount = itemCount;
+        this.amount = amount;
+        this.archivedAtMillis = archivedAtMillis;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public int getRestaurantId() {
+        return restaurantId;
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    public long getArchivedAtMillis() {
+        return archivedAtMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "ArchivedOrder{id=" + id + ", status=" + status + ", restaurantId=" + restaurantId
+                + ", items=" + itemCount + ", amount=" + amount + "}";
+    }
+}
@@ -0,0 +1,48 @@
+package model;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// One partner trip: pick up at each restaurant in order, then drop the orders in order.
+// The partner stays reserved until every order in the batch is delivered or cancelled.
+public class DeliveryBatch {
+    DeliveryPartner partner;
+    List<Location> pickups;
+    List<Order> orders;
+    double routeKm;
+    final AtomicInteger remaining;
+
+    public DeliveryBatch(DeliveryPartner partner, List<Location> pickups, List<Order> orders, double routeKm) {
+        this.partner = partner;
+        this.pickups = pickups;
+        this.orders = orders;
+        this.routeKm = routeKm;
+        this.remaining = new AtomicInteger(orders.size());
+    }
+
+    public void orderFinished() {
+        if(remaining.decrementAndGet() == 0) {
+            partner.release();
+        }
+    }
+
+    public DeliveryPartner getPartner() {
+        return partner;
+    }
+
+    public List<Location> getPickups() {
+        return pickups;
+    }
+
+    public List<Order> getOrders() {
+        return orders;
+    }
+
+    public double getRouteKm() {
+        return routeKm;
+    }
+
+    public int size() {
+        return orders.size();
+    }
+}
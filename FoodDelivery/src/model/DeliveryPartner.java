@@ -1,15 +1,42 @@
 package model;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
 public class DeliveryPartner {
     String name;
+    volatile Location location;
+    final AtomicBoolean available = new AtomicBoolean(true);
 
     public DeliveryPartner(String name){
+        this(name, null);
+    }
+
+    public DeliveryPartner(String name, Location location){
         this.name = name;
+        this.location = location;
     }
 
     public String getName() {
         return name;
     }
 
-    
+    public Location getLocation() {
+        return location;
+    }
+
+    public void setLocation(Location location) {
+        this.location = location;
+    }
+
+    public boolean isAvailable() {
+        return available.get();
+    }
+
+    public boolean tryReserve() {
+        return available.compareAndSet(true, false);
+    }
+
+    public void release() {
+        available.set(true);
+    }
 }
@@ -2,89 +2,167 @@ package model;
 
 import strategy.PaymentStrategy;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import strategy.PriceCalculationStrategy;
 import strategy.NormalPrice;    
 import service.DeliveryPartnerService;
 public class Order {
     int id;
-    static int idCounter = 0;
+    static final AtomicInteger idCounter = new AtomicInteger();
     User user;
     Restaurant restaurant;
     List<Items> items;
-    Status status;
+    final AtomicReference<Status> status;
     PaymentStrategy payment;
     PriceCalculationStrategy calculationStrategy;
-    DeliveryPartner deliveryPartner;
+    volatile DeliveryPartner deliveryPartner;
+    volatile DeliveryBatch batch;
+    Location deliveryLocation;
     DeliveryPartnerService deliveryPartnerService;
+    boolean logging = true;
+    volatile OrderStatusListener statusListener;
     public Order(User user, Restaurant restaurant, List<Items> items,PaymentStrategy payment) {
-        this.id = ++idCounter;
+        this(user, restaurant, items, payment, null);
+    }
+
+    public Order(User user, Restaurant restaurant, List<Items> items,PaymentStrategy payment, Location deliveryLocation) {
+        this.id = idCounter.incrementAndGet();
         this.user = user;
         this.restaurant = restaurant;
         this.items = items;
-        this.status = Status.DRAFT;
+        this.status = new AtomicReference<>(Status.DRAFT);
         this.calculationStrategy = new NormalPrice();
         this.deliveryPartnerService = DeliveryPartnerService.getInstance();
-        this.payment = new strategy.Card();
+        this.payment = payment;
+        this.deliveryLocation = deliveryLocation;
     }
 
-    private void runOrderEngine(){
-        updateStatusToPreparing();
-        updateStatusToPrepared();
-        deliveryPartner = deliveryPartnerService.searchDeliveryPartner();
-        System.out.println("Assigned delivery partner: " + deliveryPartner.getName());
-        updateStatusToOutForDelivery();
-        updateStatusToDelivered();
+    // Claiming the order (DRAFT -> PAYING) before charging means only one caller ever pays,
+    // and cancel() refuses PAYING, so a charge is never followed by someone else's cancel.
+    public boolean placeOrder() {
+        return placeOrder(null);
     }
 
-    public void placeOrder() {
-        System.out.println("Placing order " + id + " for user " + user.getName());
-        boolean isPaymentSuccessful = payment.pay(calculationStrategy.calculate(this));
-        if(isPaymentSuccessful) {
-            this.status = Status.PLACED;
-            runOrderEngine();
-        } else {
-            System.out.println("Payment failed for order " + id);
-            updateStatusToCancelled();
+    // onClaimed runs once, for the caller that wins DRAFT -> PAYING, before anything is charged;
+    // OrderService uses it to register the order so a lost race never touches the store.
+    public boolean placeOrder(Runnable onClaimed) {
+        log("Placing order " + id + " for user " + user.getName());
+        if(!status.compareAndSet(Status.DRAFT, Status.PAYING)) {
+            log("Order " + id + " has already been placed.");
+            return false;
+        }
+        if(onClaimed != null) {
+            onClaimed.run();
         }
+        notifyStatusChange(Status.DRAFT, Status.PAYING);
+        if(!payment.pay(calculationStrategy.calculate(this))) {
+            log("Payment failed for order " + id);
+            status.set(Status.CANCELLED);
+            log("Order " + id + " has been cancelled.");
+            notifyStatusChange(Status.PAYING, Status.CANCELLED);
+            return false;
+        }
+        status.set(Status.PLACED);
+        notifyStatusChange(Status.PAYING, Status.PLACED);
+        return true;
     }
 
-    public void updateStatusToPreparing() {
-        if(status != Status.PLACED) {
-            System.out.println("Order " + id + " cannot be prepared as it is not in PLACED status.");
-            return;
+    public boolean updateStatusToPreparing() {
+        return transition(Status.PLACED, Status.PREPARING,
+                "is being prepared.",
+                "cannot be prepared as it is not in PLACED status.");
+    }
+    public boolean updateStatusToPrepared(){
+        return transition(Status.PREPARING, Status.PREPARED,
+                "is prepared and ready for delivery.",
+                "cannot be marked as prepared as it is not in PREPARING status.");
+    }
+    public boolean updateStatusToOutForDelivery() {
+        if(!transition(Status.PREPARED, Status.OUT_FOR_DELIVERY, null,
+                "cannot be marked as out for delivery as it is not in PREPARED status.")) {
+            return false;
+        }
+        if(logging) {
+            System.out.println("Order " + id + " is out for delivery with " + partnerName() + ".");
         }
-        System.out.println("Order " + id + " is being prepared.");
-        this.status = Status.PREPARING;
+        return true;
     }
-    public void updateStatusToPrepared(){
-        if(status != Status.PREPARING) {
-            System.out.println("Order " + id + " cannot be marked as prepared as it is not in PREPARING status.");
-            return;
+
+    public boolean updateStatusToDelivered() {
+        if(!transition(Status.OUT_FOR_DELIVERY, Status.DELIVERED, null,
+                "cannot be marked as delivered as it is not in OUT_FOR_DELIVERY status.")) {
+            return false;
+        }
+        if(logging) {
+            System.out.println("Order " + id + " has been delivered by " + partnerName());
+        }
+        releaseDeliveryPartner();
+        return true;
+    }
+
+    public boolean updateStatusToCancelled() {
+        Status current;
+        do {
+            current = status.get();
+            if(current == Status.DELIVERED || current == Status.CANCELLED) {
+                log("Order " + id + " cannot be cancelled as it is already " + current + ".");
+                return false;
+            }
+            if(current == Status.PAYING) {
+                log("Order " + id + " cannot be cancelled while its payment is in progress.");
+                return false;
+            }
+        } while(!status.compareAndSet(current, Status.CANCELLED));
+        log("Order " + id + " has been cancelled.");
+        notifyStatusChange(current, Status.CANCELLED);
+        if(current == Status.OUT_FOR_DELIVERY) {
+            releaseDeliveryPartner();
         }
-        System.out.println("Order " + id + " is prepared and ready for delivery.");  
-        this.status = Status.PREPARED;
+        return true;
     }
-    public void updateStatusToOutForDelivery() {
-        if(status != Status.PREPARED) {
-            System.out.println("Order " + id + " cannot be marked as out for delivery as it is not in PREPARED status.");
-            return;
+
+    // A batched partner is shared, so it is only freed once the last order of its batch finishes.
+    private void releaseDeliveryPartner() {
+        DeliveryBatch current = batch;
+        if(current != null) {
+            current.orderFinished();
+        } else {
+            deliveryPartnerService.releaseDeliveryPartner(deliveryPartner);
         }
-        System.out.println("Order " + id + " is out for delivery.");
-        this.status = Status.OUT_FOR_DELIVERY;
     }
 
-    public void updateStatusToDelivered() {
-        if(status != Status.OUT_FOR_DELIVERY) {
-            System.out.println("Order " + id + " cannot be marked as delivered as it is not in OUT_FOR_DELIVERY status.");
-            return;
+    // Messages are suffixes so nothing is concatenated when logging is off; null logs nothing.
+    private boolean transition(Status from, Status to, String message, String rejection) {
+        if(!status.compareAndSet(from, to)) {
+            if(logging) {
+                System.out.println("Order " + id + " " + rejection);
+            }
+            return false;
         }
-        System.out.println("Order " + id + " has been delivered by " + deliveryPartner.getName());
-        this.status = Status.DELIVERED;
+        if(logging && message != null) {
+            System.out.println("Order " + id + " " + message);
+        }
+        notifyStatusChange(from, to);
+        return true;
+    }
+
+    private String partnerName() {
+        DeliveryPartner partner = deliveryPartner;
+        return partner == null ? "-" : partner.getName();
     }
 
-    public void updateStatusToCancelled() {
-        System.out.println("Order " + id + " has been cancelled.");
-        this.status = Status.CANCELLED;
+    private void notifyStatusChange(Status from, Status to) {
+        OrderStatusListener listener = statusListener;
+        if(listener != null) {
+            listener.onStatusChange(this, from, to);
+        }
+    }
+
+    private void log(String message) {
+        if(logging) {
+            System.out.println(message);
+        }
     }
 
     public void setPaymentStrategy(PaymentStrategy payment) {
@@ -95,6 +173,24 @@ public class Order {
         this.deliveryPartner = deliveryPartner;
     }
 
+    public void setBatch(DeliveryBatch batch) {
+        this.batch = batch;
+        this.deliveryPartner = batch == null ? null : batch.getPartner();
+    }
+
+    public void setStatusListener(OrderStatusListener statusListener) {
+        this.statusListener = statusListener;
+    }
+
+    public void setLogging(boolean logging) {
+        this.logging = logging;
+    }
+
+    public boolean isTerminal() {
+        Status current = status.get();
+        return current == Status.DELIVERED || current == Status.CANCELLED;
+    }
+
     public int getId() {
         return id;
     }
@@ -112,7 +208,11 @@ public class Order {
     }
 
     public Status getStatus() {
-        return status;
+        return status.get();
+    }
+
+    public double getTotalAmount() {
+        return calculationStrategy.calculate(this);
     }
 
     public PaymentStrategy getPayment() {
@@ -123,5 +223,13 @@ public class Order {
         return deliveryPartner;
     }
 
+    public DeliveryBatch getBatch() {
+        return batch;
+    }
+
+    public Location getDeliveryLocation() {
+        return deliveryLocation;
+    }
+
     
 }
@@ -0,0 +1,5 @@
+package model;
+
+public interface OrderStatusListener {
+    void onStatusChange(Order order, Status from, Status to);
+}
@@ -5,9 +5,15 @@ public class Restaurant {
     int id;
     String name;
     List<Items> menu;
+    Location location;
     public Restaurant(String name, int id){
+        this(name, id, null);
+    }
+
+    public Restaurant(String name, int id, Location location){
         this.name = name;
         this.id = id;
+        this.location = location;
         menu = new ArrayList<>();
         
     }
@@ -32,5 +38,9 @@ public class Restaurant {
         return menu;
     }
 
+    public Location getLocation() {
+        return location;
+    }
+
     
 }
@@ -2,6 +2,7 @@ package model;
 
 public enum Status {
     DRAFT,
+    PAYING,
     PLACED,
     PREPARING,
     PREPARED,
@@ -0,0 +1,154 @@
+package search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import model.DeliveryPartner;
+import model.Location;
+
+public class PartnerLocationIndex {
+    public static final double DEFAULT_CELL_DEGREES = 0.01;
+    private static final double KM_PER_DEGREE = 111.32;
+
+    private final double cellDegrees;
+    private final Map<Long, Set<DeliveryPartner>> cells = new ConcurrentHashMap<>();
+    private final Map<DeliveryPartner, Long> cellOf = new ConcurrentHashMap<>();
+
+    public PartnerLocationIndex() {
+        this(DEFAULT_CELL_DEGREES);
+    }
+
+    public PartnerLocationIndex(double cellDegrees) {
+        if (cellDegrees <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive");
+        }
+        this.cellDegrees = cellDegrees;
+    }
+
+    public void add(DeliveryPartner partner) {
+        if (partner.getLocation() == null) {
+            throw new IllegalArgumentException("Partner " + partner.getName() + " has no location");
+        }
+        updateLocation(partner, partner.getLocation());
+    }
+
+    public void remove(DeliveryPartner partner) {
+        synchronized (partner) {
+            Long cell = cellOf.remove(partner);
+            if (cell != null) {
+                cells.get(cell).remove(partner);
+            }
+        }
+    }
+
+    public void updateLocation(DeliveryPartner partner, Location location) {
+        long cell = cellKey(location);
+        synchronized (partner) {
+            partner.setLocation(location);
+            Long current = cellOf.get(partner);
+            if (current != null && current == cell) {
+                return;
+            }
+            cells.computeIfAbsent(cell, key -> ConcurrentHashMap.newKeySet()).add(partner);
+            cellOf.put(partner, cell);
+            if (current != null) {
+                cells.get(current).remove(partner);
+            }
+        }
+    }
+
+    public int size() {
+        return cellOf.size();
+    }
+
+    public List<DeliveryPartner> findNearestAvailable(Location from, int k, double maxKm) {
+        List<DeliveryPartner> nearest = new ArrayList<>(Math.max(0, k));
+        if (k <= 0) {
+            return nearest;
+        }
+        int row = row(from.getLatitude());
+        int col = col(from.getLongitude());
+        double cellKm = cellDegrees * KM_PER_DEGREE
+                * Math.min(1, Math.cos(Math.toRadians(Math.min(89, Math.abs(from.getLatitude()) + cellDegrees))));
+        int maxRing = (int) Math.ceil(maxKm / cellKm) + 1;
+
+        PriorityQueue<Candidate> best = new PriorityQueue<>(k + 1,
+                Comparator.comparingDouble((Candidate c) -> c.distanceKm).reversed());
+        // updateLocation adds a partner to its new cell before removing it from the old one, so a
+        // concurrent scan can meet the same partner twice.
+        Set<DeliveryPartner> seen = new HashSet<>();
+        for (int ring = 0; ring <= maxRing; ring++) {
+            if (best.size() == k && (ring - 1) * cellKm > best.peek().distanceKm) {
+                break;
+            }
+            for (int r = row - ring; r <= row + ring; r++) {
+                boolean edgeRow = r == row - ring || r == row + ring;
+                for (int c = col - ring; c <= col + ring; c += edgeRow ? 1 : 2 * ring) {
+                    scanCell(r, c, from, k, maxKm, best, seen);
+                }
+            }
+        }
+
+        while (!best.isEmpty()) {
+            nearest.add(best.poll().partner);
+        }
+        Collections.reverse(nearest);
+        return nearest;
+    }
+
+    private void scanCell(int row, int col, Location from, int k, double maxKm, PriorityQueue<Candidate> best,
+                          Set<DeliveryPartner> seen) {
+        Set<DeliveryPartner> partners = cells.get((long) row << 32 | (col & 0xffffffffL));
+        if (partners == null) {
+            return;
+        }
+        for (DeliveryPartner partner : partners) {
+            Location location = partner.getLocation();
+            if (!partner.isAvailable() || location == null || !seen.add(partner)) {
+                continue;
+            }
+            // The latitude gap alone is a lower bound on the great-circle distance.
+            if (best.size() == k && Math.toRadians(Math.abs(location.getLatitude() - from.getLatitude()))
+                    * Location.EARTH_RADIUS_KM >= best.peek().distanceKm) {
+                continue;
+            }
+            double distance = from.distanceKm(location);
+            if (distance > maxKm || (best.size() == k && distance >= best.peek().distanceKm)) {
+                continue;
+            }
+            best.offer(new Candidate(partner, distance));
+            if (best.size() > k) {
+                best.poll();
+            }
+        }
+    }
+
+    private long cellKey(Location location) {
+        return (long) row(location.getLatitude()) << 32 | (col(location.getLongitude()) & 0xffffffffL);
+    }
+
+    private int row(double latitude) {
+        return (int) Math.floor(latitude / cellDegrees);
+    }
+
+    private int col(double longitude) {
+        return (int) Math.floor(longitude / cellDegrees);
+    }
+
+    private static class Candidate {
+        private final DeliveryPartner partner;
+        private final double distanceKm;
+
+        Candidate(DeliveryPartner partner, double distanceKm) {
+            this.partner = partner;
+            this.distanceKm = distanceKm;
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import model.Restaurant;
+
+// Safe for concurrent use: add() takes the write lock and every lookup the read lock, so a
+// query never sees a restaurant half indexed. Fuzzy search scratch arrays are per thread.
+public class RestaurantSearchIndex {
+    public static final int DEFAULT_LIMIT = 10;
+    private static final double MIN_TOKEN_SIMILARITY = 0.45;
+    private static final double MIN_SCORE = 0.5;
+
+    private final List<Restaurant> restaurants = new ArrayList<>();
+    private final List<int[]> restaurantTokens = new ArrayList<>();
+    private final Map<String, List<Restaurant>> exact = new HashMap<>();
+    private final TreeMap<String, List<Restaurant>> namesByLength = new TreeMap<>();
+    private final Map<String, Integer> tokenIds = new HashMap<>();
+    private final List<String> tokens = new ArrayList<>();
+    private final List<Postings> tokenPostings = new ArrayList<>();
+    private final Map<Long, Postings> tokenTrigrams = new HashMap<>();
+    private int maxNameLength;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    public void add(Restaurant restaurant) {
+        lock.writeLock().lock();
+        try {
+            index(restaurant);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void index(Restaurant restaurant) {
+        String key = normalize(restaurant.getName());
+        int id = restaurants.size();
+        restaurants.add(restaurant);
+        exact.computeIfAbsent(key, k -> new ArrayList<>(1)).add(restaurant);
+        namesByLength.computeIfAbsent(lengthKey(key.length(), key), k -> new ArrayList<>(1)).add(restaurant);
+        maxNameLength = Math.max(maxNameLength, key.length());
+
+        String[] words = key.isEmpty() ? new String[0] : key.split(" ");
+        int[] ids = new int[words.length];
+        for (int i = 0; i < words.length; i++) {
+            ids[i] = tokenId(words[i]);
+            Postings postings = tokenPostings.get(ids[i]);
+            if (postings.size == 0 || postings.ids[postings.size - 1] != id) {
+                postings.add(id);
+            }
+        }
+        restaurantTokens.add(ids);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return restaurants.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Restaurant> findExact(String name) {
+        String key = normalize(name);
+        lock.readLock().lock();
+        try {
+            List<Restaurant> matches = exact.get(key);
+            return matches == null ? Collections.emptyList() : new ArrayList<>(matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Restaurant> autocomplete(String prefix, int limit) {
+        String key = normalize(prefix);
+        List<Restaurant> results = new ArrayList<>(Math.max(0, limit));
+        if (key.isEmpty()) {
+            return results;
+        }
+        lock.readLock().lock();
+        try {
+            collectCompletions(key, limit, results);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return results;
+    }
+
+    private void collectCompletions(String key, int limit, List<Restaurant> results) {
+        for (int length = key.length(); length <= maxNameLength && results.size() < limit; length++) {
+            String from = lengthKey(length, key);
+            for (Map.Entry<String, List<Restaurant>> entry : namesByLength.tailMap(from, true).entrySet()) {
+                if (!entry.getKey().startsWith(from) || results.size() >= limit) {
+                    break;
+                }
+                for (Restaurant restaurant : entry.getValue()) {
+                    if (results.size() < limit) {
+                        results.add(restaurant);
+                    }
+                }
+            }
+        }
+    }
+
+    public List<Restaurant> fuzzySearch(String query, int limit) {
+        String key = normalize(query);
+        if (key.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        lock.readLock().lock();
+        try {
+            return rank(key.split(" "), limit, scratch.get());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Restaurant> rank(String[] words, int limit, Scratch scratch) {
+        double[][] tokenSimilarities = scratch.tokenSimilarities(tokens.size());
+        List<Integer> touchedTokens = new ArrayList<>();
+        Map<Integer, Double> rarest = null;
+        long rarestPostings = Long.MAX_VALUE;
+        for (int w = 0; w < words.length; w++) {
+            Map<Integer, Double> similar = similarTokens(words[w]);
+            long postings = 0;
+            for (Map.Entry<Integer, Double> entry : similar.entrySet()) {
+                int token = entry.getKey();
+                if (tokenSimilarities[token] == null) {
+                    tokenSimilarities[token] = new double[words.length];
+                    touchedTokens.add(token);
+                }
+                tokenSimilarities[token][w] = entry.getValue();
+                postings += tokenPostings.get(token).size;
+            }
+            if (!similar.isEmpty() && postings < rarestPostings) {
+                rarestPostings = postings;
+                rarest = similar;
+            }
+        }
+
+        PriorityQueue<Match> best = new PriorityQueue<>(limit + 1);
+        if (rarest != null) {
+            int[] visited = scratch.visited(restaurants.size());
+            int stamp = ++scratch.stamp;
+            double[] bestPerWord = new double[words.length];
+            for (int token : rarest.keySet()) {
+                Postings postings = tokenPostings.get(token);
+                for (int i = 0; i < postings.size; i++) {
+                    int id = postings.ids[i];
+                    if (visited[id] == stamp) {
+                        continue;
+                    }
+                    visited[id] = stamp;
+                    double score = score(restaurantTokens.get(id), tokenSimilarities, bestPerWord);
+                    if (score < MIN_SCORE) {
+                        continue;
+                    }
+                    Match match = new Match(id, score, restaurants.get(id).getName().length());
+                    if (best.size() < limit) {
+                        best.offer(match);
+                    } else if (match.compareTo(best.peek()) > 0) {
+                        best.poll();
+                        best.offer(match);
+                    }
+                }
+            }
+        }
+        for (int token : touchedTokens) {
+            tokenSimilarities[token] = null;
+        }
+
+        Restaurant[] ranked = new Restaurant[best.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            ranked[i] = restaurants.get(best.poll().id);
+        }
+        return Arrays.asList(ranked);
+    }
+
+    public List<Restaurant> search(String query, int limit) {
+        Set<Restaurant> results = new LinkedHashSet<>();
+        addUpTo(results, findExact(query), limit);
+        addUpTo(results, autocomplete(query, limit), limit);
+        if (results.size() < limit) {
+            addUpTo(results, fuzzySearch(query, limit), limit);
+        }
+        return new ArrayList<>(results);
+    }
+
+    private int tokenId(String word) {
+        Integer id = tokenIds.get(word);
+        if (id != null) {
+            return id;
+        }
+        int newId = tokens.size();
+        tokenIds.put(word, newId);
+        tokens.add(word);
+        tokenPostings.add(new Postings());
+        for (long gram : trigramsOf(word)) {
+            tokenTrigrams.computeIfAbsent(gram, g -> new Postings()).add(newId);
+        }
+        return newId;
+    }
+
+    private Map<Integer, Double> similarTokens(String word) {
+        Map<Integer, Double> similar = new HashMap<>();
+        Integer exactId = tokenIds.get(word);
+        if (exactId != null) {
+            similar.put(exactId, 1.0);
+        }
+        long[] grams = trigramsOf(word);
+        Map<Integer, Integer> shared = new HashMap<>();
+        for (long gram : grams) {
+            Postings postings = tokenTrigrams.get(gram);
+            if (postings == null) {
+                continue;
+            }
+            for (int i = 0; i < postings.size; i++) {
+                shared.merge(postings.ids[i], 1, Integer::sum);
+            }
+        }
+        for (Map.Entry<Integer, Integer> entry : shared.entrySet()) {
+            int tokenGrams = tokens.get(entry.getKey()).length() + 1;
+            double similarity = 2.0 * entry.getValue() / (grams.length + tokenGrams);
+            if (similarity >= MIN_TOKEN_SIMILARITY) {
+                similar.merge(entry.getKey(), similarity, Math::max);
+            }
+        }
+        return similar;
+    }
+
+    private static double score(int[] restaurantWords, double[][] tokenSimilarities, double[] bestPerWord) {
+        Arrays.fill(bestPerWord, 0);
+        for (int token : restaurantWords) {
+            double[] similarities = tokenSimilarities[token];
+            if (similarities == null) {
+                continue;
+            }
+            for (int w = 0; w < bestPerWord.length; w++) {
+                bestPerWord[w] = Math.max(bestPerWord[w], similarities[w]);
+            }
+        }
+        double total = 0;
+        for (double similarity : bestPerWord) {
+            total += similarity;
+        }
+        return total / Math.max(bestPerWord.length, restaurantWords.length);
+    }
+
+    private static void addUpTo(Set<Restaurant> results, List<Restaurant> candidates, int limit) {
+        for (Restaurant restaurant : candidates) {
+            if (results.size() >= limit) {
+                return;
+            }
+            results.add(restaurant);
+        }
+    }
+
+    private static String lengthKey(int length, String key) {
+        return (char) length + key;
+    }
+
+    static String normalize(String name) {
+        return name == null ? "" : name.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    static long[] trigramsOf(String word) {
+        String padded = " " + word + " ";
+        long[] grams = new long[padded.length() - 2];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = (long) padded.charAt(i) << 32 | (long) padded.charAt(i + 1) << 16 | padded.charAt(i + 2);
+        }
+        Arrays.sort(grams);
+        int distinct = 0;
+        for (int i = 0; i < grams.length; i++) {
+            if (i == 0 || grams[i] != grams[i - 1]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+
+    private static class Match implements Comparable<Match> {
+        private final int id;
+        private final double score;
+        private final int length;
+
+        Match(int id, double score, int length) {
+            this.id = id;
+            this.score = score;
+            this.length = length;
+        }
+
+        @Override
+        public int compareTo(Match other) {
+            if (score != other.score) {
+                return Double.compare(score, other.score);
+            }
+            if (length != other.length) {
+                return Integer.compare(other.length, length);
+            }
+            return Integer.compare(other.id, id);
+        }
+    }
+
+    // Reused across one thread's queries. tokenSimilarities is left all-null after each query and
+    // visited is invalidated by bumping the stamp, so neither needs clearing.
+    private static class Scratch {
+        private double[][] tokenSimilarities = new double[16][];
+        private int[] visited = new int[16];
+        private int stamp;
+
+        double[][] tokenSimilarities(int tokens) {
+            if (tokenSimilarities.length < tokens) {
+                tokenSimilarities = new double[Math.max(tokens, tokenSimilarities.length * 2)][];
+            }
+            return tokenSimilarities;
+        }
+
+        int[] visited(int restaurants) {
+            if (visited.length < restaurants) {
+                visited = new int[Math.max(restaurants, visited.length * 2)];
+                stamp = 0;
+            }
+            return visited;
+        }
+    }
+
+    private static class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+    }
+}
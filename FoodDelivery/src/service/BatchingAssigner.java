@@ -0,0 +1,241 @@
+package service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import model.DeliveryBatch;
+import model.DeliveryPartner;
+import model.Location;
+import model.Order;
+
+// Bundles the PREPARED orders collected over a window into partner trips, then assigns
+// every trip to a partner in one minimum-cost matching instead of order by order.
+public class BatchingAssigner {
+    public static final int DEFAULT_MAX_BATCH_SIZE = 3;
+    public static final int MAX_BATCH_SIZE = 6;
+    public static final double DEFAULT_PICKUP_RADIUS_KM = 1.0;
+    public static final double DEFAULT_MAX_EXTRA_KM = 3.0;
+    private static final int CANDIDATES_PER_BATCH = 8;
+    private static final long UNASSIGNABLE = Long.MAX_VALUE / 16;
+
+    private final DeliveryPartnerService deliveryPartnerService;
+    private final int maxBatchSize;
+    private final double pickupRadiusKm;
+    private final double maxExtraKm;
+
+    public BatchingAssigner(DeliveryPartnerService deliveryPartnerService) {
+        this(deliveryPartnerService, DEFAULT_MAX_BATCH_SIZE, DEFAULT_PICKUP_RADIUS_KM, DEFAULT_MAX_EXTRA_KM);
+    }
+
+    // maxExtraKm caps how much farther any order rides inside a batch than it would on its own.
+    public BatchingAssigner(DeliveryPartnerService deliveryPartnerService, int maxBatchSize,
+                            double pickupRadiusKm, double maxExtraKm) {
+        if(maxBatchSize < 1 || pickupRadiusKm < 0 || maxExtraKm < 0) {
+            throw new IllegalArgumentException("Invalid batching limits");
+        }
+        if(maxBatchSize > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Drop order is searched exhaustively; batches are capped at " + MAX_BATCH_SIZE);
+        }
+        this.deliveryPartnerService = deliveryPartnerService;
+        this.maxBatchSize = maxBatchSize;
+        this.pickupRadiusKm = pickupRadiusKm;
+        this.maxExtraKm = maxExtraKm;
+    }
+
+    // Reserves a partner for every returned batch. Orders left out of the result found no
+    // partner within DeliveryPartnerService.MAX_PICKUP_KM and should be offered again.
+    public List<DeliveryBatch> assign(List<Order> ready) {
+        List<DeliveryBatch> batches = new ArrayList<>();
+        List<Route> routes = new ArrayList<>();
+        for(Route route : group(ready)) {
+            if(route.pickups.get(0) != null) {
+                routes.add(route);
+                continue;
+            }
+            DeliveryPartner partner = deliveryPartnerService.searchDeliveryPartner(null);
+            if(partner != null) {
+                batches.add(new DeliveryBatch(partner, route.pickups, route.drops, route.km));
+            }
+        }
+        if(routes.isEmpty()) {
+            return batches;
+        }
+
+        Map<DeliveryPartner, Integer> columns = new LinkedHashMap<>();
+        List<List<DeliveryPartner>> candidates = new ArrayList<>(routes.size());
+        for(Route route : routes) {
+            List<DeliveryPartner> nearest = deliveryPartnerService.findNearestAvailable(route.pickups.get(0), CANDIDATES_PER_BATCH);
+            candidates.add(nearest);
+            for(DeliveryPartner partner : nearest) {
+                columns.putIfAbsent(partner, columns.size());
+            }
+        }
+        List<DeliveryPartner> partners = new ArrayList<>(columns.keySet());
+        long[][] cost = new long[routes.size()][Math.max(routes.size(), partners.size())];
+        for(int r = 0; r < routes.size(); r++) {
+            Arrays.fill(cost[r], UNASSIGNABLE);
+            Location pickup = routes.get(r).pickups.get(0);
+            for(DeliveryPartner partner : candidates.get(r)) {
+                cost[r][columns.get(partner)] = Math.round(partner.getLocation().distanceKm(pickup) * 1000);
+            }
+        }
+
+        int[] choice = HungarianAssignment.solve(cost);
+        for(int r = 0; r < routes.size(); r++) {
+            if(cost[r][choice[r]] >= UNASSIGNABLE) {
+                continue;
+            }
+            DeliveryPartner partner = partners.get(choice[r]);
+            if(!partner.tryReserve()) {
+                continue;
+            }
+            Route route = routes.get(r);
+            batches.add(new DeliveryBatch(partner, route.pickups, route.drops, route.km));
+        }
+        return batches;
+    }
+
+    // Oldest order first: join the open route that saves the most kilometres, or start a new one.
+    private List<Route> group(List<Order> ready) {
+        List<Route> routes = new ArrayList<>();
+        for(Order order : ready) {
+            Location restaurant = order.getRestaurant().getLocation();
+            Location drop = order.getDeliveryLocation();
+            if(restaurant == null || drop == null) {
+                routes.add(new Route(order));
+                continue;
+            }
+            double soloKm = restaurant.distanceKm(drop);
+            Route best = null;
+            int bestIndex = -1;
+            double bestSaving = 0;
+            for(int i = 0; i < routes.size(); i++) {
+                Route route = routes.get(i);
+                if(route.drops.size() >= maxBatchSize || route.unbatchable
+                        || route.pickups.get(0).distanceKm(restaurant) > pickupRadiusKm) {
+                    continue;
+                }
+                Route merged = route.with(order);
+                if(merged == null) {
+                    continue;
+                }
+                double saving = route.km + soloKm - merged.km;
+                if(saving > bestSaving) {
+                    bestSaving = saving;
+                    best = merged;
+                    bestIndex = i;
+                }
+            }
+            if(best == null) {
+                routes.add(new Route(order));
+            } else {
+                routes.set(bestIndex, best);
+            }
+        }
+        return routes;
+    }
+
+    private class Route {
+        private final List<Location> pickups;
+        private final List<Order> drops;
+        private final double km;
+        private final boolean unbatchable;
+
+        Route(Order order) {
+            Location restaurant = order.getRestaurant().getLocation();
+            this.pickups = Collections.singletonList(restaurant);
+            this.drops = Collections.singletonList(order);
+            this.unbatchable = restaurant == null || order.getDeliveryLocation() == null;
+            this.km = unbatchable ? 0 : restaurant.distanceKm(order.getDeliveryLocation());
+        }
+
+        private Route(List<Location> pickups, List<Order> drops, double km) {
+            this.pickups = pickups;
+            this.drops = drops;
+            this.km = km;
+            this.unbatchable = false;
+        }
+
+        // Best route that also carries order, or null when some order would ride too far.
+        Route with(Order order) {
+            List<Location> stops = new ArrayList<>(pickups);
+            Location restaurant = order.getRestaurant().getLocation();
+            if(!stops.contains(restaurant)) {
+                stops.add(restaurant);
+            }
+            List<Order> orders = new ArrayList<>(drops);
+            orders.add(order);
+
+            int[] permutation = new int[orders.size()];
+            for(int i = 0; i < permutation.length; i++) {
+                permutation[i] = i;
+            }
+            int[] bestPermutation = null;
+            double bestKm = Double.MAX_VALUE;
+            do {
+                double routeKm = evaluate(stops, orders, permutation);
+                if(routeKm < bestKm) {
+                    bestKm = routeKm;
+                    bestPermutation = permutation.clone();
+                }
+            } while(nextPermutation(permutation));
+            if(bestKm == Double.MAX_VALUE) {
+                return null;
+            }
+
+            List<Order> ordered = new ArrayList<>(orders.size());
+            for(int index : bestPermutation) {
+                ordered.add(orders.get(index));
+            }
+            return new Route(stops, ordered, bestKm);
+        }
+
+        // Route length for one drop order, or MAX_VALUE if an order's ride exceeds its limit.
+        private double evaluate(List<Location> stops, List<Order> orders, int[] permutation) {
+            double[] pickedAtKm = new double[stops.size()];
+            double km = 0;
+            for(int i = 1; i < stops.size(); i++) {
+                km += stops.get(i - 1).distanceKm(stops.get(i));
+                pickedAtKm[i] = km;
+            }
+            Location at = stops.get(stops.size() - 1);
+            for(int index : permutation) {
+                Order order = orders.get(index);
+                km += at.distanceKm(order.getDeliveryLocation());
+                at = order.getDeliveryLocation();
+                Location restaurant = order.getRestaurant().getLocation();
+                double rideKm = km - pickedAtKm[stops.indexOf(restaurant)];
+                if(rideKm > restaurant.distanceKm(at) + maxExtraKm) {
+                    return Double.MAX_VALUE;
+                }
+            }
+            return km;
+        }
+    }
+
+    private static boolean nextPermutation(int[] values) {
+        int i = values.length - 2;
+        while(i >= 0 && values[i] >= values[i + 1]) {
+            i--;
+        }
+        if(i < 0) {
+            return false;
+        }
+        int j = values.length - 1;
+        while(values[j] <= values[i]) {
+            j--;
+        }
+        int swap = values[i];
+        values[i] = values[j];
+        values[j] = swap;
+        for(int left = i + 1, right = values.length - 1; left < right; left++, right--) {
+            swap = values[left];
+            values[left] = values[right];
+            values[right] = swap;
+        }
+        return true;
+    }
+}
@@ -2,12 +2,19 @@ package service;
 
 import java.util.List;
 import model.DeliveryPartner;
+import model.Location;
+import search.PartnerLocationIndex;
 import java.util.ArrayList;
 public class DeliveryPartnerService {
+    public static final double MAX_PICKUP_KM = 10.0;
+    private static final int CANDIDATES = 8;
+
     List<DeliveryPartner> deliveryPartners;
+    PartnerLocationIndex locationIndex;
     static DeliveryPartnerService instance=null;
     private DeliveryPartnerService() {
         deliveryPartners= new ArrayList<>();
+        locationIndex = new PartnerLocationIndex();
     }  
     public static DeliveryPartnerService getInstance() {
         if(instance == null) {
@@ -18,9 +25,46 @@ public class DeliveryPartnerService {
 
     public void addDeliveryPartner(DeliveryPartner partner) {
         deliveryPartners.add(partner);
+        if(partner.getLocation() != null) {
+            locationIndex.add(partner);
+        }
+    }
+
+    public void updateLocation(DeliveryPartner partner, Location location) {
+        locationIndex.updateLocation(partner, location);
+    }
+
+    public List<DeliveryPartner> findNearestAvailable(Location pickup, int k) {
+        return locationIndex.findNearestAvailable(pickup, k, MAX_PICKUP_KM);
     }
 
     public DeliveryPartner searchDeliveryPartner() {
-        return deliveryPartners.get(0);
+        return searchDeliveryPartner(null);
+    }
+
+    public DeliveryPartner searchDeliveryPartner(Location pickup) {
+        if(pickup == null) {
+            for(DeliveryPartner partner : deliveryPartners) {
+                if(partner.tryReserve()) {
+                    return partner;
+                }
+            }
+            return null;
+        }
+        for(int k = CANDIDATES; ; k *= 2) {
+            List<DeliveryPartner> candidates = locationIndex.findNearestAvailable(pickup, k, MAX_PICKUP_KM);
+            for(DeliveryPartner partner : candidates) {
+                if(partner.tryReserve()) {
+                    return partner;
+                }
+            }
+            if(candidates.size() < k) {
+                return null;
+            }
+        }
+    }
+
+    public void releaseDeliveryPartner(DeliveryPartner partner) {
+        partner.release();
     }
 }
@@ -0,0 +1,79 @@
+package service;
+
+import java.util.Arrays;
+
+// Kept in step with ElevatorSystem's main.HungarianAssignment. The projects are separate
+// source trees with no shared build, so each carries its own copy.
+final class HungarianAssignment {
+    private static final long INFINITY = Long.MAX_VALUE / 4;
+
+    private HungarianAssignment() {
+    }
+
+    // Minimum-cost assignment of rows to distinct columns; needs rows <= columns.
+    // Returns the column chosen for each row.
+    static int[] solve(long[][] cost) {
+        int rows = cost.length;
+        int columns = rows == 0 ? 0 : cost[0].length;
+        if (rows > columns) {
+            throw new IllegalArgumentException("More rows than columns: " + rows + " > " + columns);
+        }
+
+        long[] rowPotential = new long[rows + 1];
+        long[] columnPotential = new long[columns + 1];
+        int[] rowOfColumn = new int[columns + 1];
+        int[] previous = new int[columns + 1];
+        long[] minSlack = new long[columns + 1];
+        boolean[] visited = new boolean[columns + 1];
+
+        for (int row = 1; row <= rows; row++) {
+            rowOfColumn[0] = row;
+            int column = 0;
+            Arrays.fill(minSlack, INFINITY);
+            Arrays.fill(visited, false);
+            do {
+                visited[column] = true;
+                int currentRow = rowOfColumn[column];
+                long delta = INFINITY;
+                int nextColumn = 0;
+                for (int j = 1; j <= columns; j++) {
+                    if (visited[j]) {
+                        continue;
+                    }
+                    long slack = cost[currentRow - 1][j - 1] - rowPotential[currentRow] - columnPotential[j];
+                    if (slack < minSlack[j]) {
+                        minSlack[j] = slack;
+                        previous[j] = column;
+                    }
+                    if (minSlack[j] < delta) {
+                        delta = minSlack[j];
+                        nextColumn = j;
+                    }
+                }
+                for (int j = 0; j <= columns; j++) {
+                    if (visited[j]) {
+                        rowPotential[rowOfColumn[j]] += delta;
+                        columnPotential[j] -= delta;
+                    } else {
+                        minSlack[j] -= delta;
+                    }
+                }
+                column = nextColumn;
+            } while (rowOfColumn[column] != 0);
+
+            do {
+                int prior = previous[column];
+                rowOfColumn[column] = rowOfColumn[prior];
+                column = prior;
+            } while (column != 0);
+        }
+
+        int[] assignment = new int[rows];
+        for (int j = 1; j <= columns; j++) {
+            if (rowOfColumn[j] != 0) {
+                assignment[rowOfColumn[j] - 1] = j - 1;
+            }
+        }
+        return assignment;
+    }
+}
@@ -0,0 +1,117 @@
+package service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.LongAdder;
+import model.ArchivedOrder;
+import model.Order;
+import model.Status;
+
+// Terminal orders on disk instead of the heap. Order ids are dense, so every order owns a
+// fixed 32-byte slot at (id - 1) * 32 and a lookup is one positioned read, with no index.
+public class OrderArchive implements Closeable {
+    static final int RECORD_BYTES = 32;
+
+    private final FileChannel channel;
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+
+    public OrderArchive(Path file) {
+        try {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+        } catch(IOException e) {
+            throw new UncheckedIOException("Cannot open order archive " + file, e);
+        }
+    }
+
+    public static OrderArchive createTemporary() {
+        try {
+            Path file = Files.createTempFile("orders-", ".archive");
+            file.toFile().deleteOnExit();
+            return new OrderArchive(file);
+        } catch(IOException e) {
+            throw new UncheckedIOException("Cannot create order archive", e);
+        }
+    }
+
+    public void archive(Order order) {
+        Status status = order.getStatus();
+        if(status != Status.DELIVERED && status != Status.CANCELLED) {
+            throw new IllegalArgumentException("Order " + order.getId() + " is still " + status);
+        }
+        ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES);
+        record.putInt(order.getId());
+        record.putInt(status.ordinal());
+        record.putInt(order.getRestaurant().getId());
+        record.putInt(order.getItems().size());
+        record.putDouble(order.getTotalAmount());
+        record.putLong(System.currentTimeMillis());
+        record.flip();
+        write(record, slot(order.getId()));
+        (status == Status.DELIVERED ? delivered : cancelled).increment();
+    }
+
+    public ArchivedOrder find(int id) {
+        if(id <= 0) {
+            return null;
+        }
+        ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES);
+        try {
+            long position = slot(id);
+            while(record.hasRemaining()) {
+                if(channel.read(record, position + record.position()) < 0) {
+                    return null;
+                }
+            }
+        } catch(IOException e) {
+            throw new UncheckedIOException("Cannot read order " + id + " from archive", e);
+        }
+        record.flip();
+        if(record.getInt() != id) {
+            return null;
+        }
+        return new ArchivedOrder(id, Status.values()[record.getInt()], record.getInt(), record.getInt(),
+                record.getDouble(), record.getLong());
+    }
+
+    public long count(Status status) {
+        if(status == Status.DELIVERED) {
+            return delivered.sum();
+        }
+        return status == Status.CANCELLED ? cancelled.sum() : 0;
+    }
+
+    public long size() {
+        return delivered.sum() + cancelled.sum();
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch(IOException e) {
+            throw new UncheckedIOException("Cannot close order archive", e);
+        }
+    }
+
+    private void write(ByteBuffer record, long position) {
+        try {
+            while(record.hasRemaining()) {
+                channel.write(record, position + record.position());
+            }
+        } catch(IOException e) {
+            throw new UncheckedIOException("Cannot archive order at " + position, e);
+        }
+    }
+
+    private static long slot(int id) {
+        return (long) (id - 1) * RECORD_BYTES;
+    }
+}
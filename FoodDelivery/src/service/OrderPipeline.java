@@ -0,0 +1,240 @@
+package service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import model.DeliveryBatch;
+import model.DeliveryPartner;
+import model.Order;
+import model.Status;
+
+// Drives a paid order through the rest of its lifecycle. Each status transition is a stage with
+// its own executor, so a slow kitchen never holds up dispatch or delivery of other orders.
+public class OrderPipeline {
+    public static final long PARTNER_RETRY_MILLIS = 50;
+
+    private final DeliveryPartnerService deliveryPartnerService;
+    private final ExecutorService preparing;
+    private final ExecutorService prepared;
+    private final ExecutorService dispatch;
+    private final ExecutorService delivery;
+    private final ScheduledExecutorService timer;
+    private final ConcurrentLinkedQueue<Order> awaitingBatch = new ConcurrentLinkedQueue<>();
+    private volatile BatchingAssigner batchingAssigner;
+    private ScheduledFuture<?> batchWindow;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder partnerRetries = new LongAdder();
+    private final Object idleLock = new Object();
+    private volatile Consumer<Order> completionListener;
+
+    public OrderPipeline(DeliveryPartnerService deliveryPartnerService, int threadsPerStage) {
+        if(threadsPerStage < 1) {
+            throw new IllegalArgumentException("Each stage needs at least one thread");
+        }
+        this.deliveryPartnerService = deliveryPartnerService;
+        this.preparing = Executors.newFixedThreadPool(threadsPerStage, stageThreads("preparing"));
+        this.prepared = Executors.newFixedThreadPool(threadsPerStage, stageThreads("prepared"));
+        this.dispatch = Executors.newFixedThreadPool(threadsPerStage, stageThreads("dispatch"));
+        this.delivery = Executors.newFixedThreadPool(threadsPerStage, stageThreads("delivery"));
+        this.timer = Executors.newSingleThreadScheduledExecutor(stageThreads("timer"));
+    }
+
+    public void submit(Order order) {
+        if(order.getStatus() != Status.PLACED) {
+            throw new IllegalStateException("Order " + order.getId() + " is " + order.getStatus() + ", not PLACED");
+        }
+        inFlight.incrementAndGet();
+        preparing.execute(() -> prepare(order));
+    }
+
+    private void prepare(Order order) {
+        if(!order.updateStatusToPreparing()) {
+            finish(order);
+            return;
+        }
+        prepared.execute(() -> markPrepared(order));
+    }
+
+    private void markPrepared(Order order) {
+        if(!order.updateStatusToPrepared()) {
+            finish(order);
+            return;
+        }
+        dispatch.execute(() -> assignPartner(order));
+    }
+
+    // Collect PREPARED orders and assign them as batches once per window instead of one by one.
+    public synchronized void enableBatching(BatchingAssigner assigner, long windowMillis) {
+        disableBatching();
+        batchingAssigner = assigner;
+        batchWindow = timer.scheduleAtFixedRate(() -> dispatch.execute(this::assignBatches),
+                windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void disableBatching() {
+        if(batchWindow != null) {
+            batchWindow.cancel(false);
+            batchWindow = null;
+        }
+        batchingAssigner = null;
+        Order order;
+        while((order = awaitingBatch.poll()) != null) {
+            Order pending = order;
+            dispatch.execute(() -> assignPartner(pending));
+        }
+    }
+
+    private void assignPartner(Order order) {
+        if(order.getStatus() != Status.PREPARED) {
+            finish(order);
+            return;
+        }
+        if(batchingAssigner != null) {
+            awaitingBatch.add(order);
+            if(batchingAssigner != null || !awaitingBatch.remove(order)) {
+                return;
+            }
+        }
+        DeliveryPartner partner = deliveryPartnerService.searchDeliveryPartner(order.getRestaurant().getLocation());
+        if(partner == null) {
+            partnerRetries.increment();
+            timer.schedule(() -> dispatch.execute(() -> assignPartner(order)),
+                    PARTNER_RETRY_MILLIS, TimeUnit.MILLISECONDS);
+            return;
+        }
+        order.setDeliveryPartner(partner);
+        if(!order.updateStatusToOutForDelivery()) {
+            order.setDeliveryPartner(null);
+            deliveryPartnerService.releaseDeliveryPartner(partner);
+            finish(order);
+            return;
+        }
+        delivery.execute(() -> deliver(order));
+    }
+
+    private void assignBatches() {
+        BatchingAssigner assigner = batchingAssigner;
+        List<Order> ready = new ArrayList<>();
+        Order order;
+        while((order = awaitingBatch.poll()) != null) {
+            if(order.getStatus() == Status.PREPARED) {
+                ready.add(order);
+            } else {
+                finish(order);
+            }
+        }
+        if(ready.isEmpty()) {
+            return;
+        }
+        if(assigner == null) {
+            ready.forEach(pending -> dispatch.execute(() -> assignPartner(pending)));
+            return;
+        }
+
+        Set<Order> assigned = new HashSet<>();
+        for(DeliveryBatch batch : assigner.assign(ready)) {
+            for(Order batched : batch.getOrders()) {
+                assigned.add(batched);
+                batched.setBatch(batch);
+                if(!batched.updateStatusToOutForDelivery()) {
+                    batch.orderFinished();
+                    finish(batched);
+                    continue;
+                }
+                delivery.execute(() -> deliver(batched));
+            }
+        }
+        for(Order pending : ready) {
+            if(!assigned.contains(pending)) {
+                partnerRetries.increment();
+                awaitingBatch.add(pending);
+            }
+        }
+    }
+
+    private void deliver(Order order) {
+        order.updateStatusToDelivered();
+        finish(order);
+    }
+
+    private void finish(Order order) {
+        if(order.getStatus() == Status.DELIVERED) {
+            delivered.increment();
+        } else {
+            cancelled.increment();
+        }
+        Consumer<Order> listener = completionListener;
+        if(listener != null) {
+            listener.accept(order);
+        }
+        if(inFlight.decrementAndGet() == 0) {
+            synchronized(idleLock) {
+                idleLock.notifyAll();
+            }
+        }
+    }
+
+    public boolean awaitIdle(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized(idleLock) {
+            while(inFlight.get() > 0) {
+                long remaining = deadline - System.currentTimeMillis();
+                if(remaining <= 0) {
+                    return false;
+                }
+                idleLock.wait(remaining);
+            }
+        }
+        return true;
+    }
+
+    public void setCompletionListener(Consumer<Order> completionListener) {
+        this.completionListener = completionListener;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getDelivered() {
+        return delivered.sum();
+    }
+
+    public long getCancelled() {
+        return cancelled.sum();
+    }
+
+    public long getPartnerRetries() {
+        return partnerRetries.sum();
+    }
+
+    public void shutdown() {
+        timer.shutdownNow();
+        preparing.shutdown();
+        prepared.shutdown();
+        dispatch.shutdown();
+        delivery.shutdown();
+    }
+
+    private static ThreadFactory stageThreads(String stage) {
+        AtomicInteger counter = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, "order-" + stage + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
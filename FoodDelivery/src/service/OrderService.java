@@ -1,24 +1,82 @@
 package service;
 
-import java.util.*;
+import java.util.List;
+import model.ArchivedOrder;
 import model.Order;
+import model.Restaurant;
+import model.Status;
+import model.User;
 public class OrderService {
-    List<Order> orders;
+    private static final int THREADS_PER_STAGE = 2;
 
-    static OrderService instance=null;
+    OrderStore store;
+    OrderPipeline pipeline;
+
+    static volatile OrderService instance=null;
     private OrderService() {
-            orders = new ArrayList<>();
+            store = new OrderStore(OrderArchive.createTemporary());
+            pipeline = new OrderPipeline(DeliveryPartnerService.getInstance(), THREADS_PER_STAGE);
     }
     public static OrderService getInstance() {
-        if(instance == null) {
-            instance = new OrderService();
+        OrderService current = instance;
+        if(current == null) {
+            synchronized(OrderService.class) {
+                current = instance;
+                if(current == null) {
+                    current = new OrderService();
+                    instance = current;
+                }
+            }
         }
-        return instance;
+        return current;
+    }
+
+    // Returns once payment is accepted; preparation, dispatch and delivery run on the pipeline.
+    // Only the caller that claims the order stores it, so placing it twice, or placing one that
+    // is already DELIVERED or CANCELLED, just returns false.
+    public boolean placeOrder(Order order) {
+        if(!order.placeOrder(() -> store.add(order))) {
+            return false;
+        }
+        pipeline.submit(order);
+        return true;
+    }
+
+    // Active orders only; DELIVERED and CANCELLED orders are in the archive.
+    public Order getOrder(int id) {
+        return store.get(id);
+    }
+
+    public ArchivedOrder getArchivedOrder(int id) {
+        return store.getArchived(id);
+    }
+
+    public List<Order> getOrdersByUser(User user) {
+        return store.findByUser(user);
+    }
+
+    public List<Order> getOrdersByRestaurant(Restaurant restaurant) {
+        return store.findByRestaurant(restaurant);
+    }
+
+    public List<Order> getOrdersByStatus(Status status) {
+        return store.findByStatus(status);
+    }
+
+    public long countOrders(Status status) {
+        return store.countByStatus(status);
+    }
+
+    public boolean awaitCompletion(long timeoutMillis) throws InterruptedException {
+        return pipeline.awaitIdle(timeoutMillis);
+    }
+
+    public OrderPipeline getPipeline() {
+        return pipeline;
     }
 
-    public void placeOrder(Order order) {
-        orders.add(order);
-        order.placeOrder();
+    public OrderStore getStore() {
+        return store;
     }
 
 
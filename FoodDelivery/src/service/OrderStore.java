@@ -0,0 +1,171 @@
+package service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import model.ArchivedOrder;
+import model.Order;
+import model.OrderStatusListener;
+import model.Restaurant;
+import model.Status;
+import model.User;
+
+// Active orders live in id-sharded maps with secondary indexes by user, restaurant and status.
+// An order leaves every in-memory structure as soon as it is DELIVERED or CANCELLED and is
+// written to the OrderArchive, so the heap holds only what is still in flight.
+public class OrderStore implements OrderStatusListener {
+    public static final int DEFAULT_SHARDS = 64;
+
+    private final ConcurrentHashMap<Integer, Entry>[] shards;
+    private final int shardMask;
+    private final Map<User, Set<Order>> byUser = new ConcurrentHashMap<>();
+    private final Map<Restaurant, Set<Order>> byRestaurant = new ConcurrentHashMap<>();
+    private final Map<Status, Set<Order>> byStatus = new EnumMap<>(Status.class);
+    private final OrderArchive archive;
+
+    public OrderStore(OrderArchive archive) {
+        this(DEFAULT_SHARDS, archive);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public OrderStore(int shardCount, OrderArchive archive) {
+        if(shardCount < 1 || Integer.bitCount(shardCount) != 1) {
+            throw new IllegalArgumentException("Shard count must be a power of two: " + shardCount);
+        }
+        this.shards = new ConcurrentHashMap[shardCount];
+        for(int i = 0; i < shardCount; i++) {
+            shards[i] = new ConcurrentHashMap<>();
+        }
+        this.shardMask = shardCount - 1;
+        for(Status status : Status.values()) {
+            byStatus.put(status, ConcurrentHashMap.newKeySet());
+        }
+        this.archive = archive;
+    }
+
+    public void add(Order order) {
+        Entry entry = new Entry(order);
+        if(shard(order.getId()).putIfAbsent(order.getId(), entry) != null) {
+            throw new IllegalStateException("Order " + order.getId() + " is already stored");
+        }
+        addTo(byUser, order.getUser(), order);
+        addTo(byRestaurant, order.getRestaurant(), order);
+        order.setStatusListener(this);
+        reindex(entry);
+    }
+
+    @Override
+    public void onStatusChange(Order order, Status from, Status to) {
+        Entry entry = shard(order.getId()).get(order.getId());
+        if(entry != null) {
+            reindex(entry);
+        }
+    }
+
+    public Order get(int id) {
+        Entry entry = shard(id).get(id);
+        return entry == null ? null : entry.order;
+    }
+
+    public ArchivedOrder getArchived(int id) {
+        return archive.find(id);
+    }
+
+    public List<Order> findByUser(User user) {
+        return snapshot(byUser.get(user));
+    }
+
+    public List<Order> findByRestaurant(Restaurant restaurant) {
+        return snapshot(byRestaurant.get(restaurant));
+    }
+
+    // Terminal orders are archived immediately, so DELIVERED and CANCELLED only have counts.
+    public List<Order> findByStatus(Status status) {
+        return snapshot(byStatus.get(status));
+    }
+
+    public long countByStatus(Status status) {
+        return isTerminal(status) ? archive.count(status) : byStatus.get(status).size();
+    }
+
+    public long activeCount() {
+        long count = 0;
+        for(ConcurrentHashMap<Integer, Entry> shard : shards) {
+            count += shard.size();
+        }
+        return count;
+    }
+
+    public long archivedCount() {
+        return archive.size();
+    }
+
+    // Status changes can race (a cancel against a pipeline stage), so the index always
+    // follows the order's current status rather than the transition being reported.
+    private void reindex(Entry entry) {
+        Order order = entry.order;
+        synchronized(entry) {
+            if(entry.evicted) {
+                return;
+            }
+            Status current = order.getStatus();
+            if(current != entry.indexedStatus) {
+                if(entry.indexedStatus != null) {
+                    byStatus.get(entry.indexedStatus).remove(order);
+                }
+                entry.indexedStatus = current;
+                if(!isTerminal(current)) {
+                    byStatus.get(current).add(order);
+                }
+            }
+            if(isTerminal(current)) {
+                entry.evicted = true;
+                archive.archive(order);
+                removeFrom(byUser, order.getUser(), order);
+                removeFrom(byRestaurant, order.getRestaurant(), order);
+                shard(order.getId()).remove(order.getId(), entry);
+            }
+        }
+    }
+
+    private ConcurrentHashMap<Integer, Entry> shard(int id) {
+        return shards[id & shardMask];
+    }
+
+    private static <K> void addTo(Map<K, Set<Order>> index, K key, Order order) {
+        index.compute(key, (k, orders) -> {
+            Set<Order> set = orders == null ? ConcurrentHashMap.newKeySet() : orders;
+            set.add(order);
+            return set;
+        });
+    }
+
+    private static <K> void removeFrom(Map<K, Set<Order>> index, K key, Order order) {
+        index.computeIfPresent(key, (k, orders) -> {
+            orders.remove(order);
+            return orders.isEmpty() ? null : orders;
+        });
+    }
+
+    private static List<Order> snapshot(Set<Order> orders) {
+        return orders == null ? Collections.emptyList() : new ArrayList<>(orders);
+    }
+
+    private static boolean isTerminal(Status status) {
+        return status == Status.DELIVERED || status == Status.CANCELLED;
+    }
+
+    private static class Entry {
+        private final Order order;
+        private Status indexedStatus;
+        private boolean evicted;
+
+        Entry(Order order) {
+            this.order = order;
+        }
+    }
+}
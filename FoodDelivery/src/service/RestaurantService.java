@@ -2,12 +2,15 @@ package service;
 
 import java.util.List;
 import model.Restaurant;
+import search.RestaurantSearchIndex;
 import java.util.ArrayList;
 public class RestaurantService {
     List<Restaurant> restaurants;
+    RestaurantSearchIndex searchIndex;
     static RestaurantService instance;
     private RestaurantService() {
         restaurants= new ArrayList<>();
+        searchIndex = new RestaurantSearchIndex();
     }
     public static RestaurantService getInstance() {
         if(instance == null) {
@@ -18,14 +21,27 @@ public class RestaurantService {
 
     public void addRestaurant(Restaurant restaurant) {
         restaurants.add(restaurant);
+        searchIndex.add(restaurant);
     }
 
     public Restaurant searchRestaurant(String name) {
-        for(Restaurant restaurant : restaurants) {
+        for(Restaurant restaurant : searchIndex.findExact(name)) {
             if(restaurant.getName().equals(name)) {
                 return restaurant;
             }
         }
         return null;
     }
+
+    public List<Restaurant> searchRestaurants(String query) {
+        return searchRestaurants(query, RestaurantSearchIndex.DEFAULT_LIMIT);
+    }
+
+    public List<Restaurant> searchRestaurants(String query, int limit) {
+        return searchIndex.search(query, limit);
+    }
+
+    public List<Restaurant> autocomplete(String prefix, int limit) {
+        return searchIndex.autocomplete(prefix, limit);
+    }
 }
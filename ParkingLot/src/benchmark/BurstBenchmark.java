@@ -0,0 +1,185 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import main.Attendant;
+import main.ParkingLot;
+import main.ParkingLotRegistry;
+import main.ParkingOutcome;
+import main.ParkingResult;
+import main.ParkingSpot;
+import main.parkingstrategy.FreeSpotPoolStrategy;
+import main.payment.HourlyPricingStrategy;
+import main.vehicle.Vehicle;
+import main.vehicle.VehicleType;
+
+// A camera gateway's burst cycle against a 1,000-spot lot that is 70% full: 500 entry events for
+// 450 cars, so the last 150 are turned away and every ninth plate is read twice, then 350 exit
+// events for the 300 cars that got in. The same cycle is pushed through the Attendant event by
+// event, catching exceptions as the gateway did, event by event through the try* calls, and as
+// one parkVehicles and one unparkVehicles batch. Each cycle leaves the lot as it found it.
+public class BurstBenchmark {
+    private static final int SPOTS = 1_000;
+    private static final int RESIDENTS = 700;
+    private static final int ARRIVING = 450;
+
+    private static long sink;
+
+    public static void main(String[] args) throws Exception {
+        int bursts = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        List<Vehicle> arrivals = new ArrayList<>();
+        for (int i = 0; i < ARRIVING; i++) {
+            Vehicle vehicle = new Vehicle(VehicleType.CAR, "CAM-" + i);
+            arrivals.add(vehicle);
+            if (i % 9 == 8) {
+                arrivals.add(vehicle);
+            }
+        }
+        List<String> exits = new ArrayList<>();
+        for (int i = 0; i < SPOTS - RESIDENTS; i++) {
+            exits.add("CAM-" + i);
+            if (i % 6 == 5) {
+                exits.add("CAM-" + i);
+            }
+        }
+        int events = arrivals.size() + exits.size();
+
+        System.out.printf("%,d-spot lot, %d parked; %,d bursts of %d entry + %d exit events after a warm-up round%n",
+                SPOTS, RESIDENTS, bursts, arrivals.size(), exits.size());
+        boolean failed = false;
+        for (boolean journaled : new boolean[] {false, true}) {
+            Path journalDir = journaled ? Files.createTempDirectory("burst-journal") : null;
+            ParkingLotRegistry registry = new ParkingLotRegistry();
+            Attendant attendant = new Attendant(openLot(registry, journalDir), null);
+            System.out.println(journaled ? "--- journal on ---" : "--- journal off ---");
+            for (int round = 0; round < 2; round++) {
+                long[] throwing = measure(bursts, events, () -> throwing(attendant, arrivals, exits));
+                long[] tryCalls = measure(bursts, events, () -> tryCalls(attendant, arrivals, exits));
+                long[] batched = measure(bursts, events, () -> batched(attendant, arrivals, exits));
+                if (round == 1) {
+                    report("parkVehicle/unparkVehicle throw", throwing, throwing);
+                    report("tryParkVehicle/tryUnparkVehicle", tryCalls, throwing);
+                    report("parkVehicles/unparkVehicles", batched, throwing);
+                }
+            }
+            registry.shutdown();
+        }
+        if (sink == 42) {
+            System.out.println();
+        }
+    }
+
+    private static ParkingLot openLot(ParkingLotRegistry registry, Path journalDir) throws Exception {
+        ParkingLot lot = journalDir == null ? registry.registerSite("burst")
+                : registry.registerSite("burst-journaled", journalDir);
+        for (int i = 1; i <= SPOTS; i++) {
+            lot.addParkingSpot(new ParkingSpot(i, VehicleType.CAR));
+        }
+        lot.setFindSpotStrategy(new FreeSpotPoolStrategy());
+        lot.setPricingStrategy(new HourlyPricingStrategy(5.0));
+        for (int i = 1; i <= RESIDENTS; i++) {
+            lot.parkVehicle(new Vehicle(VehicleType.CAR, "RESIDENT-" + i));
+        }
+        return lot;
+    }
+
+    private static long[] measure(int bursts, int events, Burst burst) throws Exception {
+        long[] nanos = new long[bursts];
+        for (int b = 0; b < bursts; b++) {
+            long begin = System.nanoTime();
+            long outcomes = burst.run();
+            nanos[b] = (System.nanoTime() - begin) / events;
+            check(outcomes);
+        }
+        Arrays.sort(nanos);
+        return nanos;
+    }
+
+    private static long throwing(Attendant attendant, List<Vehicle> arrivals, List<String> exits) {
+        long outcomes = 0;
+        for (Vehicle vehicle : arrivals) {
+            try {
+                sink += attendant.parkVehicle(vehicle).getTicketId();
+                outcomes += tally(ParkingOutcome.PARKED);
+            } catch (Exception e) {
+                sink += e.getMessage().length();
+                outcomes += tally(ParkingOutcome.NO_SPOT_AVAILABLE);
+            }
+        }
+        for (String licensePlate : exits) {
+            try {
+                sink += attendant.unparkVehicle(licensePlate).getTicketId();
+                outcomes += tally(ParkingOutcome.UNPARKED);
+            } catch (Exception e) {
+                sink += e.getMessage().length();
+                outcomes += tally(ParkingOutcome.NOT_PARKED);
+            }
+        }
+        return outcomes;
+    }
+
+    private static long tryCalls(Attendant attendant, List<Vehicle> arrivals, List<String> exits) throws Exception {
+        long outcomes = 0;
+        for (Vehicle vehicle : arrivals) {
+            outcomes += tally(attendant.tryParkVehicle(vehicle));
+        }
+        for (String licensePlate : exits) {
+            outcomes += tally(attendant.tryUnparkVehicle(licensePlate));
+        }
+        return outcomes;
+    }
+
+    private static long batched(Attendant attendant, List<Vehicle> arrivals, List<String> exits) throws Exception {
+        long outcomes = 0;
+        for (ParkingResult result : attendant.parkVehicles(arrivals)) {
+            outcomes += tally(result);
+        }
+        for (ParkingResult result : attendant.unparkVehicles(exits)) {
+            outcomes += tally(result);
+        }
+        return outcomes;
+    }
+
+    // The throwing path cannot tell a full lot from a repeated read without inspecting the
+    // exception type, so every rejected entry counts the same and successes are what is checked.
+    private static long tally(ParkingResult result) {
+        sink += result.isSuccess() ? result.getTicket().getTicketId() : 0;
+        return tally(result.isSuccess() ? result.getOutcome() : ParkingOutcome.NO_SPOT_AVAILABLE);
+    }
+
+    private static long tally(ParkingOutcome outcome) {
+        switch (outcome) {
+            case PARKED:
+                return 1L << 32;
+            case UNPARKED:
+                return 1L << 16;
+            default:
+                return 1;
+        }
+    }
+
+    private static void check(long outcomes) {
+        long parked = outcomes >>> 32;
+        long unparked = (outcomes >>> 16) & 0xffff;
+        if (parked != SPOTS - RESIDENTS || unparked != SPOTS - RESIDENTS) {
+            System.out.printf("FAILED: burst parked %d and unparked %d cars, expected %d each%n",
+                    parked, unparked, SPOTS - RESIDENTS);
+            System.exit(1);
+        }
+    }
+
+    private static void report(String label, long[] nanos, long[] baseline) {
+        long p50 = nanos[nanos.length / 2];
+        System.out.printf("%-32s p50 %,6d ns/event | p99 %,6d ns/event | %,11.0f events / s | %5.1fx%n", label,
+                p50, nanos[(int) (nanos.length * 0.99)], 1e9 / p50, (double) baseline[baseline.length / 2] / p50);
+    }
+
+    private interface Burst {
+        long run() throws Exception;
+    }
+}
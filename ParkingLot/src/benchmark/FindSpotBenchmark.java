@@ -0,0 +1,86 @@
+package benchmark;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import main.ParkingLot;
+import main.ParkingLotRegistry;
+import main.ParkingResult;
+import main.ParkingSpot;
+import main.parkingstrategy.FindSpotStrategy;
+import main.parkingstrategy.FreeSpotPoolStrategy;
+import main.parkingstrategy.NormalStrategy;
+import main.payment.HourlyPricingStrategy;
+import main.vehicle.Vehicle;
+import main.vehicle.VehicleType;
+
+// Park latency through ParkingLot.tryPark for NormalStrategy (scan the spot list) and
+// FreeSpotPoolStrategy (per-type free queues). Each lot keeps bikes, then cars, then trucks in
+// its spot list, in equal thirds; the timed vehicles are trucks, so a scan starts two thirds in.
+public class FindSpotBenchmark {
+    private static final int[] LOT_SIZES = {1_000, 10_000, 100_000};
+
+    private static int sites;
+
+    public static void main(String[] args) throws IOException {
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        ParkingLotRegistry registry = new ParkingLotRegistry();
+        System.out.printf("tryPark latency, %,d timed parks per case after a warm-up round%n", operations);
+        System.out.printf("%-8s %-21s %-24s %10s %10s%n", "spots", "strategy", "case", "p50", "p99");
+        for (int spots : LOT_SIZES) {
+            for (int strategy = 0; strategy < 2; strategy++) {
+                measure(registry, spots, strategy, 0.90, operations, "90% full, churn");
+                measure(registry, spots, strategy, 1.0 - 1.0 / (spots / 3), operations, "one truck spot free");
+            }
+        }
+        registry.shutdown();
+    }
+
+    // Fill the truck third to the given occupancy, then repeatedly unpark a random truck and
+    // time parking a new one, so every timed park finds exactly the free spots left behind.
+    private static void measure(ParkingLotRegistry registry, int spots, int strategyIndex, double occupancy,
+                                int operations, String label) throws IOException {
+        FindSpotStrategy strategy = strategyIndex == 0 ? new NormalStrategy() : new FreeSpotPoolStrategy();
+        ParkingLot lot = registry.registerSite("lot-" + (++sites));
+        int perType = spots / 3;
+        int number = 0;
+        for (VehicleType type : new VehicleType[]{VehicleType.BIKE, VehicleType.CAR, VehicleType.TRUCK}) {
+            for (int i = 0; i < perType; i++) {
+                lot.addParkingSpot(new ParkingSpot(++number, type));
+            }
+        }
+        lot.setFindSpotStrategy(strategy);
+        lot.setPricingStrategy(new HourlyPricingStrategy(5.0));
+
+        int parkedCount = (int) Math.round(perType * occupancy);
+        String[] parked = new String[parkedCount];
+        for (int i = 0; i < parkedCount; i++) {
+            parked[i] = "T" + i;
+            lot.tryPark(new Vehicle(VehicleType.TRUCK, parked[i]));
+        }
+
+        Random random = new Random(11);
+        long[] nanos = new long[operations];
+        int next = parkedCount;
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < operations; i++) {
+                int slot = random.nextInt(parkedCount);
+                lot.tryUnpark(parked[slot]);
+                Vehicle arriving = new Vehicle(VehicleType.TRUCK, "T" + next++);
+                long begin = System.nanoTime();
+                ParkingResult result = lot.tryPark(arriving);
+                nanos[i] = System.nanoTime() - begin;
+                if (!result.isSuccess()) {
+                    throw new IllegalStateException("Truck not parked: " + result.getOutcome());
+                }
+                parked[slot] = arriving.getLicensePlate();
+            }
+        }
+
+        Arrays.sort(nanos);
+        System.out.printf("%-8s %-21s %-24s %8.2f µs %8.2f µs%n", String.format("%,d", spots),
+                strategy.getClass().getSimpleName(), label,
+                nanos[operations / 2] / 1000.0, nanos[(int) (operations * 0.99)] / 1000.0);
+    }
+}
@@ -0,0 +1,102 @@
+package benchmark;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import main.ParkingLot;
+import main.ParkingLotRegistry;
+import main.ParkingOutcome;
+import main.ParkingSpot;
+import main.exception.NoSpotAvailableException;
+import main.exception.ParkingException;
+import main.parkingstrategy.FreeSpotPoolStrategy;
+import main.payment.HourlyPricingStrategy;
+import main.vehicle.Vehicle;
+import main.vehicle.VehicleType;
+
+// Cost of turning a car away from a full lot: the non-throwing tryPark against parkVehicle,
+// which throws NoSpotAvailableException. An exception's stack trace grows with call depth, so
+// the throwing path is also measured below a stack as deep as a typical gate/web handler.
+public class FullLotBenchmark {
+    private static final int BATCH = 1_000;
+    private static final int HANDLER_DEPTH = 64;
+
+    private static long sink;
+
+    public static void main(String[] args) throws IOException, ParkingException {
+        int batches = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        ParkingLotRegistry registry = new ParkingLotRegistry();
+        ParkingLot lot = registry.registerSite("full");
+        for (int i = 1; i <= 100; i++) {
+            lot.addParkingSpot(new ParkingSpot(i, VehicleType.CAR));
+        }
+        lot.setFindSpotStrategy(new FreeSpotPoolStrategy());
+        lot.setPricingStrategy(new HourlyPricingStrategy(5.0));
+        for (int i = 1; i <= 100; i++) {
+            lot.parkVehicle(new Vehicle(VehicleType.CAR, "PARKED-" + i));
+        }
+        Vehicle arriving = new Vehicle(VehicleType.CAR, "ARRIVING");
+
+        System.out.printf("Full 100-spot lot, %,d batches of %,d rejected parks after a warm-up round%n",
+                batches, BATCH);
+        for (int round = 0; round < 2; round++) {
+            long[] tryPark = measure(batches, () -> tryPark(lot, arriving));
+            long[] throwing = measure(batches, () -> parkVehicle(lot, arriving));
+            long[] throwingDeep = measure(batches, () -> atDepth(HANDLER_DEPTH, lot, arriving));
+            if (round == 1) {
+                report("tryPark -> NO_SPOT_AVAILABLE", tryPark);
+                report("parkVehicle throws", throwing);
+                report("parkVehicle throws, 64 frames", throwingDeep);
+            }
+        }
+        registry.shutdown();
+        if (sink == 42) {
+            System.out.println();
+        }
+    }
+
+    private static long[] measure(int batches, Rejection rejection) throws IOException {
+        long[] nanos = new long[batches];
+        for (int b = 0; b < batches; b++) {
+            long begin = System.nanoTime();
+            for (int i = 0; i < BATCH; i++) {
+                sink += rejection.run();
+            }
+            nanos[b] = (System.nanoTime() - begin) / BATCH;
+        }
+        Arrays.sort(nanos);
+        return nanos;
+    }
+
+    private static long tryPark(ParkingLot lot, Vehicle vehicle) throws IOException {
+        ParkingOutcome outcome = lot.tryPark(vehicle).getOutcome();
+        if (outcome != ParkingOutcome.NO_SPOT_AVAILABLE) {
+            throw new IllegalStateException("Lot is not full: " + outcome);
+        }
+        return outcome.ordinal();
+    }
+
+    private static long parkVehicle(ParkingLot lot, Vehicle vehicle) throws IOException {
+        try {
+            lot.parkVehicle(vehicle);
+        } catch (NoSpotAvailableException e) {
+            return e.getMessage().length();
+        } catch (ParkingException e) {
+            throw new IllegalStateException("Unexpected rejection", e);
+        }
+        throw new IllegalStateException("Lot is not full");
+    }
+
+    private static long atDepth(int depth, ParkingLot lot, Vehicle vehicle) throws IOException {
+        return depth == 0 ? parkVehicle(lot, vehicle) : atDepth(depth - 1, lot, vehicle) + 1;
+    }
+
+    private static void report(String label, long[] nanos) {
+        System.out.printf("%-31s p50 %,7d ns | p99 %,7d ns | %,12.0f rejections / s%n", label,
+                nanos[nanos.length / 2], nanos[(int) (nanos.length * 0.99)], 1e9 / nanos[nanos.length / 2]);
+    }
+
+    private interface Rejection {
+        long run() throws IOException;
+    }
+}
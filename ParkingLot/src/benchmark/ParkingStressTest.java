@@ -0,0 +1,202 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import main.Entrance;
+import main.ParkingLot;
+import main.ParkingLotRegistry;
+import main.ParkingOutcome;
+import main.ParkingResult;
+import main.ParkingSpot;
+import main.Ticket;
+import main.parkingstrategy.FindSpotStrategy;
+import main.parkingstrategy.FreeSpotPoolStrategy;
+import main.parkingstrategy.NearestSpotStrategy;
+import main.parkingstrategy.NormalStrategy;
+import main.payment.HourlyPricingStrategy;
+import main.vehicle.Vehicle;
+import main.vehicle.VehicleType;
+
+// Gate threads park and unpark their own vehicles against one shared lot. Every spot handed out
+// is claimed in an owner map, so a spot given to two vehicles at once is caught at the moment it
+// happens. Afterwards the lot is emptied and refilled to prove no spot leaked out of the strategy.
+public class ParkingStressTest {
+    private static final VehicleType[] LARGEST_FIRST = {VehicleType.TRUCK, VehicleType.CAR, VehicleType.BIKE};
+
+    public static void main(String[] args) throws Exception {
+        int gates = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int spotsPerType = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int operationsPerGate = args.length > 2 ? Integer.parseInt(args[2]) : 50_000;
+        System.out.printf("%d gates, %d spots per type, %,d operations per gate, lot oversubscribed 2x%n",
+                gates, spotsPerType, operationsPerGate);
+
+        ParkingLotRegistry registry = new ParkingLotRegistry();
+        Entrance entrance = new Entrance("north", 0, 0);
+        long violations = 0;
+        violations += run(registry, "NormalStrategy", new NormalStrategy(), gates, spotsPerType, operationsPerGate);
+        violations += run(registry, "FreeSpotPoolStrategy", new FreeSpotPoolStrategy(), gates, spotsPerType,
+                operationsPerGate);
+        violations += run(registry, "NearestSpotStrategy", new NearestSpotStrategy(Arrays.asList(entrance)), gates,
+                spotsPerType, operationsPerGate);
+        registry.shutdown();
+
+        if (violations > 0) {
+            System.out.println("FAILED: " + violations + " violations");
+            System.exit(1);
+        }
+        System.out.println("OK: no spot double-allocated or lost");
+    }
+
+    private static long run(ParkingLotRegistry registry, String name, FindSpotStrategy strategy, int gates,
+                            int spotsPerType, int operationsPerGate) throws Exception {
+        ParkingLot lot = registry.registerSite(name);
+        List<ParkingSpot> spots = new ArrayList<>();
+        int spotNumber = 0;
+        for (VehicleType type : VehicleType.values()) {
+            for (int i = 0; i < spotsPerType; i++) {
+                ParkingSpot spot = new ParkingSpot(++spotNumber, type, i % 4, i);
+                spots.add(spot);
+                lot.addParkingSpot(spot);
+            }
+        }
+        lot.setFindSpotStrategy(strategy);
+        lot.setPricingStrategy(new HourlyPricingStrategy(5.0));
+
+        Map<ParkingSpot, String> owners = new ConcurrentHashMap<>();
+        AtomicLong violations = new AtomicLong();
+        LongAdder parked = new LongAdder();
+        LongAdder full = new LongAdder();
+        int vehiclesPerGate = Math.max(1, 2 * spots.size() / gates);
+        List<Map<String, Ticket>> held = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[gates];
+        for (int g = 0; g < gates; g++) {
+            Map<String, Ticket> gateTickets = new HashMap<>();
+            held.add(gateTickets);
+            List<Vehicle> vehicles = new ArrayList<>(vehiclesPerGate);
+            for (int v = 0; v < vehiclesPerGate; v++) {
+                vehicles.add(new Vehicle(VehicleType.values()[v % VehicleType.values().length], name + "-" + g + "-" + v));
+            }
+            long seed = g;
+            threads[g] = new Thread(() -> {
+                try {
+                    start.await();
+                    gate(lot, vehicles, gateTickets, owners, new Random(seed), operationsPerGate, violations,
+                            parked, full);
+                } catch (Exception e) {
+                    violations.incrementAndGet();
+                    System.out.println("  gate failed: " + e);
+                }
+            }, "gate-" + g);
+            threads[g].start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double seconds = (System.nanoTime() - begin) / 1e9;
+
+        int stillParked = 0;
+        for (Map<String, Ticket> gateTickets : held) {
+            stillParked += gateTickets.size();
+        }
+        int occupiedSpots = 0;
+        for (ParkingSpot spot : spots) {
+            if (spot.isOccupied()) {
+                occupiedSpots++;
+            }
+        }
+        violations.addAndGet(check("tracked occupancy", lot.getOccupiedSpots(), stillParked));
+        violations.addAndGet(check("occupied spot flags", occupiedSpots, stillParked));
+        violations.addAndGet(check("spot owners", owners.size(), stillParked));
+
+        for (Map<String, Ticket> gateTickets : held) {
+            for (String plate : gateTickets.keySet()) {
+                if (lot.tryUnpark(plate).getOutcome() != ParkingOutcome.UNPARKED) {
+                    violations.incrementAndGet();
+                }
+            }
+        }
+        violations.addAndGet(check("available after emptying", lot.getAvailableSpots(), spots.size()));
+
+        int refilled = 0;
+        for (VehicleType type : LARGEST_FIRST) {
+            for (int i = 0; i < spotsPerType; i++) {
+                if (lot.tryPark(new Vehicle(type, name + "-refill-" + type + "-" + i)).isSuccess()) {
+                    refilled++;
+                }
+            }
+            if (lot.tryPark(new Vehicle(type, name + "-overflow-" + type)).getOutcome()
+                    != ParkingOutcome.NO_SPOT_AVAILABLE) {
+                violations.incrementAndGet();
+                System.out.println("  lot accepted a " + type + " beyond its capacity");
+            }
+        }
+        violations.addAndGet(check("spots refilled", refilled, spots.size()));
+
+        long operations = (long) gates * operationsPerGate;
+        System.out.printf("%-21s %,10.0f ops/s | %,9d parked | %,9d full-lot | %d violations%n",
+                name, operations / seconds, parked.sum(), full.sum(), violations.get());
+        return violations.get();
+    }
+
+    private static void gate(ParkingLot lot, List<Vehicle> vehicles, Map<String, Ticket> tickets,
+                             Map<ParkingSpot, String> owners, Random random, int operations, AtomicLong violations,
+                             LongAdder parked, LongAdder full) throws Exception {
+        for (int op = 0; op < operations; op++) {
+            Vehicle vehicle = vehicles.get(random.nextInt(vehicles.size()));
+            String plate = vehicle.getLicensePlate();
+            Ticket ticket = tickets.remove(plate);
+            if (ticket != null) {
+                // Release ownership first: once unparked, another gate may take the spot at once.
+                if (!owners.remove(ticket.getParkingSpot(), plate)) {
+                    violations.incrementAndGet();
+                    System.out.println("  " + plate + " lost spot " + ticket.getParkingSpot().getSpotNumber());
+                }
+                if (lot.tryUnpark(plate).getOutcome() != ParkingOutcome.UNPARKED) {
+                    violations.incrementAndGet();
+                    System.out.println("  " + plate + " could not unpark");
+                }
+                continue;
+            }
+            ParkingResult result = lot.tryPark(vehicle);
+            switch (result.getOutcome()) {
+                case PARKED:
+                    ParkingSpot spot = result.getTicket().getParkingSpot();
+                    String previous = owners.putIfAbsent(spot, plate);
+                    if (previous != null || !vehicle.getType().canFitIn(spot.getType())) {
+                        violations.incrementAndGet();
+                        System.out.println("  spot " + spot.getSpotNumber() + " given to " + plate
+                                + " while held by " + previous);
+                    }
+                    tickets.put(plate, result.getTicket());
+                    parked.increment();
+                    break;
+                case NO_SPOT_AVAILABLE:
+                    full.increment();
+                    break;
+                default:
+                    violations.incrementAndGet();
+                    System.out.println("  " + plate + " park returned " + result.getOutcome());
+            }
+        }
+    }
+
+    private static long check(String what, long actual, long expected) {
+        if (actual == expected) {
+            return 0;
+        }
+        System.out.println("  " + what + ": " + actual + ", expected " + expected);
+        return 1;
+    }
+}
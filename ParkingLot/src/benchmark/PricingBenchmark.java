@@ -0,0 +1,141 @@
+package benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Random;
+
+import main.payment.HourlyPricingStrategy;
+import main.payment.MinuteBasedPricingStrategy;
+import main.payment.PricingStrategy;
+import main.payment.TariffTablePricingStrategy;
+
+// A nightly re-billing run: a year of historic tickets, from grace-period drop-offs to week-long
+// stays, priced once through the primitive epoch-millis path and once the way the job used to,
+// building LocalDateTimes for the double path. Both paths must agree on every fee to the cent.
+public class PricingBenchmark {
+    private static final long YEAR_START_MILLIS = 1_735_689_600_000L;
+    private static final long MINUTE_MILLIS = 60_000L;
+    private static final long DAY_MILLIS = 24 * 60 * MINUTE_MILLIS;
+
+    private static long sink;
+
+    public static void main(String[] args) {
+        int tickets = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int passes = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        long[] entries = new long[tickets];
+        long[] exits = new long[tickets];
+        Random random = new Random(7);
+        for (int i = 0; i < tickets; i++) {
+            entries[i] = YEAR_START_MILLIS + (long) (random.nextDouble() * 365 * DAY_MILLIS);
+            exits[i] = entries[i] + stayMillis(random);
+        }
+
+        double[] rates = new double[24];
+        Arrays.fill(rates, 1.0);
+        Arrays.fill(rates, 8, 18, 4.0);
+        String[] names = {"TariffTablePricingStrategy", "HourlyPricingStrategy", "MinuteBasedPricingStrategy"};
+        PricingStrategy[] strategies = {
+                new TariffTablePricingStrategy(rates, 30.0, 10, ZoneOffset.UTC),
+                new HourlyPricingStrategy(5.0),
+                new MinuteBasedPricingStrategy(0.1)};
+
+        System.out.printf("%,d tickets over a year, %d passes on the primitive path, after a warm-up round%n",
+                tickets, passes);
+        System.out.printf("%-28s %-15s %16s %14s%n", "Strategy", "Path", "Tickets / s", "Bytes / ticket");
+        long mismatches = 0;
+        for (int s = 0; s < strategies.length; s++) {
+            mismatches += verify(strategies[s], entries, exits);
+            for (int round = 0; round < 2; round++) {
+                long allocated = allocatedBytes();
+                long begin = System.nanoTime();
+                for (int pass = 0; pass < passes; pass++) {
+                    sink += primitive(strategies[s], entries, exits);
+                }
+                long nanos = System.nanoTime() - begin;
+                long primitiveBytes = allocatedBytes() - allocated;
+
+                allocated = allocatedBytes();
+                begin = System.nanoTime();
+                sink += (long) localDateTimes(strategies[s], entries, exits);
+                long localNanos = System.nanoTime() - begin;
+                long localBytes = allocatedBytes() - allocated;
+                if (round == 1) {
+                    report(names[s], "epoch millis", (long) tickets * passes, nanos, primitiveBytes);
+                    report("", "LocalDateTime", tickets, localNanos, localBytes);
+                }
+            }
+        }
+        if (sink == 42) {
+            System.out.println();
+        }
+        if (mismatches > 0) {
+            System.out.println("FAILED: " + mismatches + " fees differ between the two paths");
+            System.exit(1);
+        }
+        System.out.println("OK: both paths agree on every fee");
+    }
+
+    // 10% leave within the grace period, most stay a working day, a few stay for days.
+    private static long stayMillis(Random random) {
+        double kind = random.nextDouble();
+        if (kind < 0.10) {
+            return (long) (random.nextDouble() * 10 * MINUTE_MILLIS);
+        }
+        if (kind < 0.80) {
+            return 15 * MINUTE_MILLIS + (long) (random.nextDouble() * 10 * 60 * MINUTE_MILLIS);
+        }
+        if (kind < 0.95) {
+            return 10 * 60 * MINUTE_MILLIS + (long) (random.nextDouble() * 20 * 60 * MINUTE_MILLIS);
+        }
+        return DAY_MILLIS + (long) (random.nextDouble() * 6 * DAY_MILLIS);
+    }
+
+    private static long primitive(PricingStrategy strategy, long[] entries, long[] exits) {
+        long totalMinor = 0;
+        for (int i = 0; i < entries.length; i++) {
+            totalMinor += strategy.calculateFee(entries[i], exits[i]);
+        }
+        return totalMinor;
+    }
+
+    private static double localDateTimes(PricingStrategy strategy, long[] entries, long[] exits) {
+        double total = 0;
+        for (int i = 0; i < entries.length; i++) {
+            total += strategy.calculateFee(toLocal(entries[i]), toLocal(exits[i]));
+        }
+        return total;
+    }
+
+    private static long verify(PricingStrategy strategy, long[] entries, long[] exits) {
+        long mismatches = 0;
+        for (int i = 0; i < entries.length; i++) {
+            long expected = PricingStrategy.toMinorUnits(strategy.calculateFee(toLocal(entries[i]),
+                    toLocal(exits[i])));
+            if (strategy.calculateFee(entries[i], exits[i]) != expected) {
+                mismatches++;
+            }
+        }
+        return mismatches;
+    }
+
+    private static LocalDateTime toLocal(long epochMillis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMillis, 1000L),
+                (int) Math.floorMod(epochMillis, 1000L) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    private static void report(String strategy, String path, long tickets, long nanos, long bytes) {
+        System.out.printf("%-28s %-15s %,16.0f %14.1f%n", strategy, path, tickets / (nanos / 1e9),
+                allocatedBytes() == Long.MIN_VALUE ? Double.NaN : (double) bytes / tickets);
+    }
+
+    // HotSpot exposes per-thread allocation counters; other VMs report NaN bytes/ticket.
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return Long.MIN_VALUE;
+    }
+}
@@ -0,0 +1,161 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import main.ParkingLot;
+import main.ParkingLotRegistry;
+import main.ParkingSpot;
+import main.journal.JournalRecord;
+import main.journal.ParkingJournal;
+import main.vehicle.VehicleType;
+
+// Writes a journal tail of park and unpark events for a garage kept 60% full, then restarts from
+// copies of it. The journal's own replay is timed apart from openJournal, which also compacts the
+// tail into a snapshot, and from adding the spots that the recovered tickets are restored into.
+// The first restart runs on a cold JVM, as a real one would; later ones show the warmed-up cost.
+public class RecoveryBenchmark {
+    private static final int BATCH = 1_000;
+    private static final int RESTARTS = 3;
+
+    public static void main(String[] args) throws IOException {
+        int events = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int spots = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        Path root = Files.createTempDirectory("recovery-benchmark");
+        Path written = root.resolve("written");
+
+        Deque<JournalRecord> parked = new ArrayDeque<>();
+        long begin = System.nanoTime();
+        long journalBytes = write(written, events, spots, parked);
+        double writeSeconds = (System.nanoTime() - begin) / 1e9;
+        System.out.printf("Wrote %,d events (%,d MB) for %,d spots in %.2f s, %,d cars left parked%n",
+                events, journalBytes >> 20, spots, writeSeconds, parked.size());
+
+        ParkingLotRegistry registry = new ParkingLotRegistry();
+        long violations = 0;
+        for (int restart = 0; restart < RESTARTS; restart++) {
+            Path replayCopy = copy(written, root.resolve("replay-" + restart));
+            begin = System.nanoTime();
+            Map<String, JournalRecord> recovered;
+            try (ParkingJournal journal = new ParkingJournal(replayCopy, Collections::emptyList)) {
+                recovered = journal.recover();
+            }
+            double replayMillis = (System.nanoTime() - begin) / 1e6;
+            violations += verify(recovered, parked);
+
+            Path startupCopy = copy(written, root.resolve("startup-" + restart));
+            begin = System.nanoTime();
+            ParkingLot lot = registry.registerSite("restart-" + restart, startupCopy);
+            double openMillis = (System.nanoTime() - begin) / 1e6;
+            begin = System.nanoTime();
+            for (int i = 1; i <= spots; i++) {
+                lot.addParkingSpot(new ParkingSpot(i, VehicleType.CAR));
+            }
+            double spotsMillis = (System.nanoTime() - begin) / 1e6;
+            if (lot.getOccupiedSpots() != parked.size()) {
+                System.out.printf("Startup restored %,d cars, expected %,d%n", lot.getOccupiedSpots(), parked.size());
+                violations++;
+            }
+
+            System.out.printf("%-4s replay %,6.1f ms (%,10.0f events / s) | openJournal %,6.1f ms | "
+                    + "adding %,d spots %,7.1f ms%n", restart == 0 ? "cold" : "warm", replayMillis,
+                    events / (replayMillis / 1000), openMillis, spots, spotsMillis);
+        }
+        registry.shutdown();
+        delete(root);
+
+        if (violations > 0) {
+            System.out.println("FAILED: " + violations + " violations");
+            System.exit(1);
+        }
+        System.out.println("OK: every parked car recovered");
+    }
+
+    private static long write(Path directory, int events, int spots, Deque<JournalRecord> parked)
+            throws IOException {
+        Deque<Integer> freeSpots = new ArrayDeque<>();
+        for (int i = 1; i <= spots; i++) {
+            freeSpots.add(i);
+        }
+        int occupancy = spots * 6 / 10;
+        int ticketId = 0;
+        List<JournalRecord> batch = new ArrayList<>(BATCH);
+        // Compaction snapshots the parked deque, so it only changes under the journal's lock.
+        try (ParkingJournal journal = new ParkingJournal(directory, () -> new ArrayList<>(parked))) {
+            journal.recover();
+            for (int written = 0; written < events; written += batch.size()) {
+                batch.clear();
+                synchronized (journal) {
+                    while (batch.size() < Math.min(BATCH, events - written)) {
+                        if (parked.size() < occupancy) {
+                            ticketId++;
+                            JournalRecord record = new JournalRecord(JournalRecord.PARK, ticketId,
+                                    freeSpots.poll(), VehicleType.CAR, "J" + ticketId,
+                                    1_700_000_000_000L + ticketId * 1_000L);
+                            parked.add(record);
+                            batch.add(record);
+                        } else {
+                            JournalRecord leaving = parked.poll();
+                            freeSpots.add(leaving.getSpotNumber());
+                            batch.add(new JournalRecord(JournalRecord.UNPARK, leaving.getTicketId(),
+                                    leaving.getSpotNumber(), leaving.getVehicleType(), leaving.getLicensePlate(),
+                                    leaving.getEntryEpochMillis()));
+                        }
+                    }
+                    journal.recordAll(batch);
+                }
+            }
+        }
+        long bytes = 0;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                bytes += Files.size(file);
+            }
+        }
+        return bytes;
+    }
+
+    private static long verify(Map<String, JournalRecord> recovered, Collection<JournalRecord> parked) {
+        long violations = 0;
+        if (recovered.size() != parked.size()) {
+            System.out.printf("Replay recovered %,d cars, expected %,d%n", recovered.size(), parked.size());
+            violations++;
+        }
+        for (JournalRecord expected : parked) {
+            JournalRecord actual = recovered.get(expected.getLicensePlate());
+            if (actual == null || actual.getTicketId() != expected.getTicketId()
+                    || actual.getSpotNumber() != expected.getSpotNumber()) {
+                violations++;
+            }
+        }
+        return violations;
+    }
+
+    private static Path copy(Path from, Path to) throws IOException {
+        Files.createDirectories(to);
+        try (Stream<Path> files = Files.list(from)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.copy(file, to.resolve(file.getFileName()));
+            }
+        }
+        return to;
+    }
+
+    private static void delete(Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
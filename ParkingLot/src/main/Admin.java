@@ -2,19 +2,29 @@ package main;
 
 import main.parkingstrategy.FindSpotStrategy;
 import main.payment.PricingStrategy;
+import main.payment.RevenueLedger;
+import main.payment.RevenueWindow;
 import main.vehicle.VehicleType;
 
 public class Admin {
     private ParkingLot parkingLot;
 
     public Admin() {
-        this.parkingLot = ParkingLot.getInstance();
+        this(ParkingLot.getInstance());
+    }
+
+    public Admin(ParkingLot parkingLot) {
+        this.parkingLot = parkingLot;
     }
 
     public void addParkingSpot(int spotNumber, VehicleType type) {
         parkingLot.addParkingSpot(new ParkingSpot(spotNumber, type));
     }
 
+    public void addParkingSpot(int spotNumber, VehicleType type, int level, int position) {
+        parkingLot.addParkingSpot(new ParkingSpot(spotNumber, type, level, position));
+    }
+
     public void setFindSpotStrategy(FindSpotStrategy strategy) {
         parkingLot.setFindSpotStrategy(strategy);
     }
@@ -25,9 +35,34 @@ public class Admin {
 
     public void displayParkingStatus() {
         System.out.println("\n========== PARKING LOT STATUS ==========");
-        System.out.println("Total Spots: " + parkingLot.getParkingSpots().size());
-        System.out.println("Occupied Spots: " + parkingLot.getOccupiedSpots());
-        System.out.println("Available Spots: " + parkingLot.getAvailableSpots());
+        OccupancySnapshot snapshot = parkingLot.getOccupancySnapshot();
+        System.out.println("Total Spots: " + parkingLot.getTotalSpots());
+        System.out.println("Occupied Spots: " + snapshot.getTotalOccupied());
+        System.out.println("Available Spots: " + snapshot.getTotalAvailable());
+        if (snapshot.getAvailableByLevel().size() > 1) {
+            for (Integer level : snapshot.getAvailableByLevel().keySet()) {
+                System.out.println("Level " + level + " - Occupied: " + snapshot.getOccupiedOnLevel(level)
+                        + ", Available: " + snapshot.getAvailableOnLevel(level));
+            }
+        }
         System.out.println("========================================\n");
     }
+
+    public void displayRevenueStatus() {
+        RevenueLedger ledger = parkingLot.getRevenueLedger();
+        long now = System.currentTimeMillis();
+        System.out.println("\n========== REVENUE STATUS ==========");
+        System.out.println("Total Revenue: $" + formatMinor(ledger.getTotalRevenue()));
+        System.out.println("Last Hour: $" + formatMinor(ledger.getRevenue(RevenueWindow.HOUR, now)));
+        System.out.println("Last 24 Hours: $" + formatMinor(ledger.getRevenue(RevenueWindow.DAY, now)));
+        for (VehicleType type : VehicleType.values()) {
+            System.out.println(type + " Last 24 Hours: $"
+                    + formatMinor(ledger.getRevenue(type, RevenueWindow.DAY, now)));
+        }
+        System.out.println("====================================\n");
+    }
+
+    private static String formatMinor(long amountMinor) {
+        return String.format("%.2f", (double) amountMinor / PricingStrategy.MINOR_UNITS_PER_MAJOR);
+    }
 }
@@ -1,27 +1,75 @@
 package main;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import main.vehicle.Vehicle;
 import main.payment.PaymentProcessor;
 
 public class Attendant {
+    public static final String DEFAULT_GATE = "MAIN";
+
     private ParkingLot parkingLot;
     private PaymentProcessor paymentProcessor;
+    private Entrance entrance;
 
     public Attendant() {
-        this.parkingLot = ParkingLot.getInstance();
-        this.paymentProcessor = new PaymentProcessor();
+        this(null);
+    }
+
+    public Attendant(Entrance entrance) {
+        this(ParkingLot.getInstance(), entrance);
+    }
+
+    public Attendant(ParkingLot parkingLot, Entrance entrance) {
+        this.parkingLot = parkingLot;
+        this.paymentProcessor = new PaymentProcessor(parkingLot.getRevenueLedger(),
+                entrance == null ? DEFAULT_GATE : entrance.getId());
+        this.entrance = entrance;
     }
 
     public Ticket parkVehicle(Vehicle vehicle) throws Exception {
-        return parkingLot.parkVehicle(vehicle);
+        return parkingLot.parkVehicle(vehicle, entrance);
     }
 
     public Ticket unparkVehicle(String licensePlate) throws Exception {
         Ticket ticket = parkingLot.unparkVehicle(licensePlate);
-        paymentProcessor.processPayment(ticket.getAmount());
+        collectPayment(ticket);
         return ticket;
     }
 
+    public ParkingResult tryParkVehicle(Vehicle vehicle) throws Exception {
+        return parkingLot.tryPark(vehicle, entrance);
+    }
+
+    public ParkingResult tryUnparkVehicle(String licensePlate) throws Exception {
+        ParkingResult result = parkingLot.tryUnpark(licensePlate);
+        if (result.isSuccess()) {
+            collectPayment(result.getTicket());
+        }
+        return result;
+    }
+
+    public List<ParkingResult> parkVehicles(List<Vehicle> vehicles) throws Exception {
+        return parkingLot.parkVehicles(vehicles, entrance);
+    }
+
+    public List<ParkingResult> unparkVehicles(List<String> licensePlates) throws Exception {
+        List<ParkingResult> results = parkingLot.unparkVehicles(licensePlates);
+        List<Ticket> paid = new ArrayList<>(results.size());
+        for (ParkingResult result : results) {
+            if (result.isSuccess()) {
+                paid.add(result.getTicket());
+            }
+        }
+        paymentProcessor.processPayments(paid);
+        return results;
+    }
+
+    private void collectPayment(Ticket ticket) throws Exception {
+        paymentProcessor.processPayment(ticket.getAmount(), ticket.getVehicle().getType());
+    }
+
     public double getTotalPaymentCollected() {
         return paymentProcessor.getTotalCollected();
     }
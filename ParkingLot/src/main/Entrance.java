@@ -0,0 +1,31 @@
+package main;
+
+public class Entrance {
+    private static final int LEVEL_DISTANCE = 100;
+
+    private String id;
+    private int level;
+    private int position;
+
+    public Entrance(String id, int level, int position) {
+        this.id = id;
+        this.level = level;
+        this.position = position;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    public int distanceTo(ParkingSpot spot) {
+        return Math.abs(level - spot.getLevel()) * LEVEL_DISTANCE + Math.abs(position - spot.getPosition());
+    }
+}
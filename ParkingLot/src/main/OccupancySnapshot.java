@@ -0,0 +1,69 @@
+package main;
+
+import java.util.Collections;
+import java.util.Map;
+
+import main.vehicle.VehicleType;
+
+public class OccupancySnapshot {
+    private final Map<VehicleType, Integer> availableByType;
+    private final Map<VehicleType, Integer> occupiedByType;
+    private final Map<Integer, Integer> availableByLevel;
+    private final Map<Integer, Integer> occupiedByLevel;
+
+    public OccupancySnapshot(Map<VehicleType, Integer> availableByType, Map<VehicleType, Integer> occupiedByType,
+            Map<Integer, Integer> availableByLevel, Map<Integer, Integer> occupiedByLevel) {
+        this.availableByType = Collections.unmodifiableMap(availableByType);
+        this.occupiedByType = Collections.unmodifiableMap(occupiedByType);
+        this.availableByLevel = Collections.unmodifiableMap(availableByLevel);
+        this.occupiedByLevel = Collections.unmodifiableMap(occupiedByLevel);
+    }
+
+    public int getAvailable(VehicleType type) {
+        return availableByType.get(type);
+    }
+
+    public int getOccupied(VehicleType type) {
+        return occupiedByType.get(type);
+    }
+
+    public int getAvailableOnLevel(int level) {
+        return availableByLevel.getOrDefault(level, 0);
+    }
+
+    public int getOccupiedOnLevel(int level) {
+        return occupiedByLevel.getOrDefault(level, 0);
+    }
+
+    public Map<VehicleType, Integer> getAvailableByType() {
+        return availableByType;
+    }
+
+    public Map<VehicleType, Integer> getOccupiedByType() {
+        return occupiedByType;
+    }
+
+    public Map<Integer, Integer> getAvailableByLevel() {
+        return availableByLevel;
+    }
+
+    public Map<Integer, Integer> getOccupiedByLevel() {
+        return occupiedByLevel;
+    }
+
+    public int getTotalAvailable() {
+        return sum(availableByType.values());
+    }
+
+    public int getTotalOccupied() {
+        return sum(occupiedByType.values());
+    }
+
+    private static int sum(Iterable<Integer> counts) {
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,85 @@
+package main;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import main.vehicle.VehicleType;
+
+public class OccupancyTracker {
+    private final Map<VehicleType, LongAdder> totalSpots;
+    private final Map<VehicleType, LongAdder> occupiedSpots;
+    private final Map<Integer, LongAdder> totalSpotsByLevel;
+    private final Map<Integer, LongAdder> occupiedSpotsByLevel;
+
+    public OccupancyTracker() {
+        totalSpots = new EnumMap<>(VehicleType.class);
+        occupiedSpots = new EnumMap<>(VehicleType.class);
+        for (VehicleType type : VehicleType.values()) {
+            totalSpots.put(type, new LongAdder());
+            occupiedSpots.put(type, new LongAdder());
+        }
+        totalSpotsByLevel = new ConcurrentHashMap<>();
+        occupiedSpotsByLevel = new ConcurrentHashMap<>();
+    }
+
+    public void spotAdded(ParkingSpot spot) {
+        totalSpots.get(spot.getType()).increment();
+        totalSpotsByLevel.computeIfAbsent(spot.getLevel(), level -> new LongAdder()).increment();
+        LongAdder occupiedOnLevel = occupiedSpotsByLevel.computeIfAbsent(spot.getLevel(), level -> new LongAdder());
+        if (spot.isOccupied()) {
+            occupiedSpots.get(spot.getType()).increment();
+            occupiedOnLevel.increment();
+        }
+    }
+
+    public void spotOccupied(ParkingSpot spot) {
+        occupiedSpots.get(spot.getType()).increment();
+        occupiedSpotsByLevel.get(spot.getLevel()).increment();
+    }
+
+    public void spotReleased(ParkingSpot spot) {
+        occupiedSpots.get(spot.getType()).decrement();
+        occupiedSpotsByLevel.get(spot.getLevel()).decrement();
+    }
+
+    public int getTotalSpots() {
+        int total = 0;
+        for (LongAdder adder : totalSpots.values()) {
+            total += adder.intValue();
+        }
+        return total;
+    }
+
+    public int getOccupiedSpots() {
+        int occupied = 0;
+        for (LongAdder adder : occupiedSpots.values()) {
+            occupied += adder.intValue();
+        }
+        return occupied;
+    }
+
+    public int getAvailableSpots() {
+        return getTotalSpots() - getOccupiedSpots();
+    }
+
+    public OccupancySnapshot snapshot() {
+        Map<VehicleType, Integer> available = new EnumMap<>(VehicleType.class);
+        Map<VehicleType, Integer> occupied = new EnumMap<>(VehicleType.class);
+        for (VehicleType type : VehicleType.values()) {
+            int occupiedCount = occupiedSpots.get(type).intValue();
+            occupied.put(type, occupiedCount);
+            available.put(type, totalSpots.get(type).intValue() - occupiedCount);
+        }
+        Map<Integer, Integer> availableByLevel = new TreeMap<>();
+        Map<Integer, Integer> occupiedByLevel = new TreeMap<>();
+        for (Map.Entry<Integer, LongAdder> entry : totalSpotsByLevel.entrySet()) {
+            int occupiedCount = occupiedSpotsByLevel.get(entry.getKey()).intValue();
+            occupiedByLevel.put(entry.getKey(), occupiedCount);
+            availableByLevel.put(entry.getKey(), entry.getValue().intValue() - occupiedCount);
+        }
+        return new OccupancySnapshot(available, occupied, availableByLevel, occupiedByLevel);
+    }
+}
@@ -1,96 +1,384 @@
 package main;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import main.exception.NoSpotAvailableException;
+import main.exception.ParkingException;
+import main.exception.VehicleAlreadyParkedException;
+import main.exception.VehicleNotParkedException;
+import main.journal.JournalRecord;
+import main.journal.ParkingJournal;
 import main.parkingstrategy.FindSpotStrategy;
 import main.vehicle.*;
 import main.payment.PricingStrategy;
+import main.payment.RevenueLedger;
 
 public class ParkingLot {
+    public static final String JOURNAL_DIR_PROPERTY = "parkinglot.journal.dir";
+
     private static volatile ParkingLot instance = null;
     private List<ParkingSpot> parkingSpots;
-    private FindSpotStrategy findSpotStrategy;
-    private PricingStrategy pricingStrategy;
+    private volatile FindSpotStrategy findSpotStrategy;
+    private volatile PricingStrategy pricingStrategy;
     private Map<String, Ticket> parkedVehicles;
-    private int ticketCounter;
+    private AtomicInteger ticketCounter;
+    private OccupancyTracker occupancyTracker;
+    private volatile ParkingJournal journal;
+    private Map<Integer, JournalRecord> pendingRecovery;
+    private RevenueLedger revenueLedger;
 
-    private ParkingLot() {
-        parkingSpots = new ArrayList<>();
-        parkedVehicles = new HashMap<>();
-        ticketCounter = 0;
+    ParkingLot() {
+        parkingSpots = new CopyOnWriteArrayList<>();
+        parkedVehicles = new ConcurrentHashMap<>();
+        ticketCounter = new AtomicInteger();
+        occupancyTracker = new OccupancyTracker();
+        pendingRecovery = new ConcurrentHashMap<>();
+        revenueLedger = new RevenueLedger();
     }
 
     public static ParkingLot getInstance() {
         if (instance == null) {
             synchronized (ParkingLot.class) {
                 if (instance == null) {
-                    instance = new ParkingLot();
+                    ParkingLot parkingLot = new ParkingLot();
+                    String journalDir = System.getProperty(JOURNAL_DIR_PROPERTY);
+                    if (journalDir != null) {
+                        try {
+                            parkingLot.openJournal(Paths.get(journalDir));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException("Could not recover parking journal", e);
+                        }
+                    }
+                    instance = parkingLot;
                 }
             }
         }
         return instance;
     }
 
-    public void addParkingSpot(ParkingSpot spot) {
+    public synchronized void openJournal(Path directory) throws IOException {
+        if (journal != null) {
+            throw new IllegalStateException("Journal already open");
+        }
+        Map<Integer, ParkingSpot> spotsByNumber = new HashMap<>();
+        for (ParkingSpot spot : parkingSpots) {
+            spotsByNumber.put(spot.getSpotNumber(), spot);
+        }
+        ParkingJournal recovering = new ParkingJournal(directory, this::activeJournalRecords);
+        for (JournalRecord record : recovering.recover().values()) {
+            ParkingSpot spot = spotsByNumber.get(record.getSpotNumber());
+            if (spot != null) {
+                restoreTicket(spot, record, true);
+            } else {
+                pendingRecovery.put(record.getSpotNumber(), record);
+            }
+        }
+        ticketCounter.accumulateAndGet(recovering.getLastTicketId(), Math::max);
+        recovering.compact();
+        journal = recovering;
+    }
+
+    public synchronized void addParkingSpot(ParkingSpot spot) {
+        JournalRecord recovered = pendingRecovery.remove(spot.getSpotNumber());
+        if (recovered != null) {
+            restoreTicket(spot, recovered, false);
+        }
         parkingSpots.add(spot);
+        occupancyTracker.spotAdded(spot);
+        if (findSpotStrategy != null) {
+            findSpotStrategy.addSpot(spot);
+        }
     }
 
-    public void setFindSpotStrategy(FindSpotStrategy strategy) {
+    public synchronized void setFindSpotStrategy(FindSpotStrategy strategy) {
         this.findSpotStrategy = strategy;
+        for (ParkingSpot spot : parkingSpots) {
+            strategy.addSpot(spot);
+        }
     }
 
     public void setPricingStrategy(PricingStrategy strategy) {
         this.pricingStrategy = strategy;
     }
 
-    public Ticket parkVehicle(Vehicle vehicle) throws Exception {
-        if (findSpotStrategy == null) {
-            throw new Exception("Parking strategy not set");
+    public Ticket parkVehicle(Vehicle vehicle) throws ParkingException, IOException {
+        return parkVehicle(vehicle, null);
+    }
+
+    public Ticket parkVehicle(Vehicle vehicle, Entrance entrance) throws ParkingException, IOException {
+        ParkingResult result = tryPark(vehicle, entrance);
+        switch (result.getOutcome()) {
+            case PARKED:
+                return result.getTicket();
+            case ALREADY_PARKED:
+                throw new VehicleAlreadyParkedException(vehicle.getLicensePlate());
+            case NO_SPOT_AVAILABLE:
+                throw new NoSpotAvailableException(vehicle.getType().toString());
+            default:
+                throw new ParkingException("Parking or pricing strategy not set");
         }
-        if (pricingStrategy == null) {
-            throw new Exception("Pricing strategy not set");
+    }
+
+    public ParkingResult tryPark(Vehicle vehicle) throws IOException {
+        return tryPark(vehicle, null);
+    }
+
+    public ParkingResult tryPark(Vehicle vehicle, Entrance entrance) throws IOException {
+        FindSpotStrategy strategy = findSpotStrategy;
+        if (strategy == null || pricingStrategy == null) {
+            return ParkingResult.failure(ParkingOutcome.NOT_CONFIGURED);
         }
         if (isVehicleAlreadyParked(vehicle.getLicensePlate())) {
-            throw new Exception("Vehicle is already parked");
+            return ParkingResult.failure(ParkingOutcome.ALREADY_PARKED);
         }
 
-        ParkingSpot spot = findSpotStrategy.findSpot(vehicle.getType(), parkingSpots);
+        ParkingSpot spot = claimSpot(strategy, vehicle, entrance,
+                strategy.findSpot(vehicle.getType(), entrance, parkingSpots));
         if (spot == null) {
-            throw new Exception("No parking spot available for " + vehicle.getType());
+            return ParkingResult.failure(ParkingOutcome.NO_SPOT_AVAILABLE);
         }
 
-        spot.parkVehicle(vehicle);
-        Ticket ticket = new Ticket(++ticketCounter, vehicle, spot, LocalDateTime.now());
-        parkedVehicles.put(vehicle.getLicensePlate(), ticket);
-        return ticket;
+        Ticket ticket = issueTicket(strategy, vehicle, spot, LocalDateTime.now());
+        if (ticket == null) {
+            return ParkingResult.failure(ParkingOutcome.ALREADY_PARKED);
+        }
+        ParkingJournal currentJournal = journal;
+        if (currentJournal != null) {
+            currentJournal.recordPark(JournalRecord.park(ticket));
+        }
+        return ParkingResult.parked(ticket);
+    }
+
+    public List<ParkingResult> parkVehicles(List<Vehicle> vehicles) throws IOException {
+        return parkVehicles(vehicles, null);
+    }
+
+    public List<ParkingResult> parkVehicles(List<Vehicle> vehicles, Entrance entrance) throws IOException {
+        List<ParkingResult> results = new ArrayList<>(vehicles.size());
+        FindSpotStrategy strategy = findSpotStrategy;
+        if (strategy == null || pricingStrategy == null) {
+            for (int i = 0; i < vehicles.size(); i++) {
+                results.add(ParkingResult.failure(ParkingOutcome.NOT_CONFIGURED));
+            }
+            return results;
+        }
+
+        boolean[] eligible = new boolean[vehicles.size()];
+        Set<String> platesInBatch = new HashSet<>();
+        Map<VehicleType, Integer> demand = new EnumMap<>(VehicleType.class);
+        for (int i = 0; i < vehicles.size(); i++) {
+            Vehicle vehicle = vehicles.get(i);
+            String licensePlate = vehicle.getLicensePlate();
+            if (!isVehicleAlreadyParked(licensePlate) && platesInBatch.add(licensePlate)) {
+                eligible[i] = true;
+                demand.merge(vehicle.getType(), 1, Integer::sum);
+            }
+        }
+
+        Map<VehicleType, Deque<ParkingSpot>> claimedSpots = new EnumMap<>(VehicleType.class);
+        for (Map.Entry<VehicleType, Integer> entry : demand.entrySet()) {
+            claimedSpots.put(entry.getKey(),
+                    new ArrayDeque<>(strategy.findSpots(entry.getKey(), entry.getValue(), entrance, parkingSpots)));
+        }
+
+        // Every ticket in the batch shares one entry time, so it is converted for the journal once.
+        ParkingJournal currentJournal = journal;
+        LocalDateTime entryTime = LocalDateTime.now();
+        long entryEpochMillis = entryTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        List<JournalRecord> records = new ArrayList<>(currentJournal == null ? 0 : vehicles.size());
+        for (int i = 0; i < vehicles.size(); i++) {
+            Vehicle vehicle = vehicles.get(i);
+            if (!eligible[i]) {
+                results.add(ParkingResult.failure(ParkingOutcome.ALREADY_PARKED));
+                continue;
+            }
+            ParkingSpot spot = claimSpot(strategy, vehicle, entrance, claimedSpots.get(vehicle.getType()).poll());
+            if (spot == null) {
+                results.add(ParkingResult.failure(ParkingOutcome.NO_SPOT_AVAILABLE));
+                continue;
+            }
+            Ticket ticket = issueTicket(strategy, vehicle, spot, entryTime);
+            if (ticket == null) {
+                results.add(ParkingResult.failure(ParkingOutcome.ALREADY_PARKED));
+                continue;
+            }
+            if (currentJournal != null) {
+                records.add(new JournalRecord(JournalRecord.PARK, ticket.getTicketId(), spot.getSpotNumber(),
+                        vehicle.getType(), vehicle.getLicensePlate(), entryEpochMillis));
+            }
+            results.add(ParkingResult.parked(ticket));
+        }
+
+        for (Deque<ParkingSpot> unused : claimedSpots.values()) {
+            for (ParkingSpot spot : unused) {
+                strategy.releaseSpot(spot);
+            }
+        }
+        if (currentJournal != null && !records.isEmpty()) {
+            currentJournal.recordAll(records);
+        }
+        return results;
+    }
+
+    public Ticket unparkVehicle(String licensePlate) throws ParkingException, IOException {
+        ParkingResult result = tryUnpark(licensePlate);
+        if (result.getOutcome() == ParkingOutcome.NOT_CONFIGURED) {
+            throw new ParkingException("Parking or pricing strategy not set");
+        }
+        if (!result.isSuccess()) {
+            throw new VehicleNotParkedException(licensePlate);
+        }
+        return result.getTicket();
     }
 
-    public Ticket unparkVehicle(String licensePlate) throws Exception {
-        Ticket ticket = parkedVehicles.get(licensePlate);
+    // Strategies are checked before the ticket is removed: a ticket restored from the journal
+    // before they were set must stay parked rather than be lost to a half-finished unpark.
+    public ParkingResult tryUnpark(String licensePlate) throws IOException {
+        FindSpotStrategy strategy = findSpotStrategy;
+        PricingStrategy pricing = pricingStrategy;
+        if (strategy == null || pricing == null) {
+            return ParkingResult.failure(ParkingOutcome.NOT_CONFIGURED);
+        }
+        Ticket ticket = parkedVehicles.remove(licensePlate);
         if (ticket == null) {
-            throw new Exception("Vehicle with license plate " + licensePlate + " is not parked");
+            return ParkingResult.failure(ParkingOutcome.NOT_PARKED);
         }
 
-        ParkingSpot spot = ticket.getParkingSpot();
-        spot.unparkVehicle();
+        closeTicket(pricing, ticket, LocalDateTime.now());
+        ParkingJournal currentJournal = journal;
+        if (currentJournal != null) {
+            currentJournal.recordUnpark(JournalRecord.unpark(ticket));
+        }
+        releaseSpot(strategy, ticket.getParkingSpot());
+        return ParkingResult.unparked(ticket);
+    }
+
+    public List<ParkingResult> unparkVehicles(List<String> licensePlates) throws IOException {
+        List<ParkingResult> results = new ArrayList<>(licensePlates.size());
+        FindSpotStrategy strategy = findSpotStrategy;
+        PricingStrategy pricing = pricingStrategy;
+        if (strategy == null || pricing == null) {
+            for (int i = 0; i < licensePlates.size(); i++) {
+                results.add(ParkingResult.failure(ParkingOutcome.NOT_CONFIGURED));
+            }
+            return results;
+        }
+        ParkingJournal currentJournal = journal;
+        List<JournalRecord> records = new ArrayList<>(currentJournal == null ? 0 : licensePlates.size());
+        List<ParkingSpot> freedSpots = new ArrayList<>(licensePlates.size());
         LocalDateTime exitTime = LocalDateTime.now();
-        double fee = pricingStrategy.calculateFee(ticket.getEntryTime(), exitTime);
-        ticket.setExitTimeAndAmount(exitTime, fee);
-        parkedVehicles.remove(licensePlate);
+        for (String licensePlate : licensePlates) {
+            Ticket ticket = parkedVehicles.remove(licensePlate);
+            if (ticket == null) {
+                results.add(ParkingResult.failure(ParkingOutcome.NOT_PARKED));
+                continue;
+            }
+            closeTicket(pricing, ticket, exitTime);
+            if (currentJournal != null) {
+                records.add(JournalRecord.unpark(ticket));
+            }
+            freedSpots.add(ticket.getParkingSpot());
+            results.add(ParkingResult.unparked(ticket));
+        }
+
+        if (currentJournal != null && !records.isEmpty()) {
+            currentJournal.recordAll(records);
+        }
+        for (ParkingSpot spot : freedSpots) {
+            releaseSpot(strategy, spot);
+        }
+        return results;
+    }
+
+    private ParkingSpot claimSpot(FindSpotStrategy strategy, Vehicle vehicle, Entrance entrance,
+            ParkingSpot candidate) {
+        ParkingSpot spot = candidate;
+        while (spot != null && !spot.tryOccupy(vehicle)) {
+            if (!vehicle.getType().canFitIn(spot.getType())) {
+                return null;
+            }
+            spot = strategy.findSpot(vehicle.getType(), entrance, parkingSpots);
+        }
+        if (spot != null) {
+            occupancyTracker.spotOccupied(spot);
+        }
+        return spot;
+    }
+
+    private Ticket issueTicket(FindSpotStrategy strategy, Vehicle vehicle, ParkingSpot spot,
+            LocalDateTime entryTime) {
+        Ticket ticket = new Ticket(ticketCounter.incrementAndGet(), vehicle, spot, entryTime);
+        if (parkedVehicles.putIfAbsent(vehicle.getLicensePlate(), ticket) != null) {
+            releaseSpot(strategy, spot);
+            return null;
+        }
         return ticket;
     }
 
+    private void closeTicket(PricingStrategy pricing, Ticket ticket, LocalDateTime exitTime) {
+        double fee = pricing.calculateFee(ticket.getEntryTime(), exitTime);
+        ticket.setExitTimeAndAmount(exitTime, fee);
+    }
+
+    private void releaseSpot(FindSpotStrategy strategy, ParkingSpot spot) {
+        occupancyTracker.spotReleased(spot);
+        spot.unparkVehicle();
+        strategy.releaseSpot(spot);
+    }
+
     public List<ParkingSpot> getParkingSpots() {
         return parkingSpots;
     }
 
+    public int getTotalSpots() {
+        return occupancyTracker.getTotalSpots();
+    }
+
     public int getAvailableSpots() {
-        return (int) parkingSpots.stream().filter(spot -> !spot.isOccupied()).count();
+        return occupancyTracker.getAvailableSpots();
     }
 
     public int getOccupiedSpots() {
-        return (int) parkingSpots.stream().filter(ParkingSpot::isOccupied).count();
+        return occupancyTracker.getOccupiedSpots();
+    }
+
+    public OccupancySnapshot getOccupancySnapshot() {
+        return occupancyTracker.snapshot();
+    }
+
+    public RevenueLedger getRevenueLedger() {
+        return revenueLedger;
+    }
+
+    private void restoreTicket(ParkingSpot spot, JournalRecord record, boolean registered) {
+        Vehicle vehicle = new Vehicle(record.getVehicleType(), record.getLicensePlate());
+        if (!spot.tryOccupy(vehicle)) {
+            return;
+        }
+        if (registered) {
+            occupancyTracker.spotOccupied(spot);
+        }
+        LocalDateTime entryTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(record.getEntryEpochMillis()),
+                ZoneId.systemDefault());
+        parkedVehicles.put(record.getLicensePlate(), new Ticket(record.getTicketId(), vehicle, spot, entryTime));
+    }
+
+    private Collection<JournalRecord> activeJournalRecords() {
+        List<JournalRecord> records = new ArrayList<>(pendingRecovery.values());
+        for (Ticket ticket : parkedVehicles.values()) {
+            records.add(JournalRecord.park(ticket));
+        }
+        return records;
     }
 
     private boolean isVehicleAlreadyParked(String licensePlate) {
@@ -0,0 +1,94 @@
+package main;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import main.vehicle.VehicleType;
+
+public class ParkingLotRegistry {
+    private final Map<String, ParkingLot> sites;
+    private final Map<String, ExecutorService> siteExecutors;
+
+    public ParkingLotRegistry() {
+        this.sites = new ConcurrentHashMap<>();
+        this.siteExecutors = new ConcurrentHashMap<>();
+    }
+
+    public ParkingLot registerSite(String siteId) {
+        return registerSite(siteId, Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "parking-site-" + siteId);
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    public synchronized ParkingLot registerSite(String siteId, ExecutorService executor) {
+        if (sites.containsKey(siteId)) {
+            throw new IllegalArgumentException("Site already registered: " + siteId);
+        }
+        ParkingLot parkingLot = new ParkingLot();
+        siteExecutors.put(siteId, executor);
+        sites.put(siteId, parkingLot);
+        return parkingLot;
+    }
+
+    public ParkingLot registerSite(String siteId, Path journalDirectory) throws IOException {
+        ParkingLot parkingLot = registerSite(siteId);
+        parkingLot.openJournal(journalDirectory);
+        return parkingLot;
+    }
+
+    public ParkingLot getSite(String siteId) {
+        return sites.get(siteId);
+    }
+
+    public List<String> getSiteIds() {
+        return new ArrayList<>(sites.keySet());
+    }
+
+    public <T> CompletableFuture<T> submit(String siteId, Function<ParkingLot, T> operation) {
+        ParkingLot parkingLot = sites.get(siteId);
+        if (parkingLot == null) {
+            throw new IllegalArgumentException("Unknown site: " + siteId);
+        }
+        return CompletableFuture.supplyAsync(() -> operation.apply(parkingLot), siteExecutors.get(siteId));
+    }
+
+    public List<SiteAvailability> findAvailableSites(VehicleType type, List<String> candidateSiteIds, int maxSites) {
+        List<CompletableFuture<SiteAvailability>> lookups = new ArrayList<>();
+        for (String siteId : candidateSiteIds) {
+            if (lookups.size() == maxSites) {
+                break;
+            }
+            if (sites.containsKey(siteId)) {
+                lookups.add(submit(siteId, parkingLot -> new SiteAvailability(siteId, type,
+                        parkingLot.getOccupancySnapshot().getAvailable(type))));
+            }
+        }
+
+        List<SiteAvailability> available = new ArrayList<>();
+        for (CompletableFuture<SiteAvailability> lookup : lookups) {
+            SiteAvailability availability = lookup.join();
+            if (availability.getAvailableSpots() > 0) {
+                available.add(availability);
+            }
+        }
+        available.sort(Comparator.comparingInt(SiteAvailability::getAvailableSpots).reversed());
+        return available;
+    }
+
+    public void shutdown() {
+        for (ExecutorService executor : siteExecutors.values()) {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package main;
+
+public enum ParkingOutcome {
+    PARKED,
+    UNPARKED,
+    ALREADY_PARKED,
+    NO_SPOT_AVAILABLE,
+    NOT_PARKED,
+    NOT_CONFIGURED
+}
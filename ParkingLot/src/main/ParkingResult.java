@@ -0,0 +1,46 @@
+package main;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+public class ParkingResult {
+    private static final Map<ParkingOutcome, ParkingResult> FAILURES = new EnumMap<>(ParkingOutcome.class);
+
+    static {
+        for (ParkingOutcome outcome : ParkingOutcome.values()) {
+            FAILURES.put(outcome, new ParkingResult(outcome, null));
+        }
+    }
+
+    private final ParkingOutcome outcome;
+    private final Ticket ticket;
+
+    private ParkingResult(ParkingOutcome outcome, Ticket ticket) {
+        this.outcome = outcome;
+        this.ticket = ticket;
+    }
+
+    public static ParkingResult parked(Ticket ticket) {
+        return new ParkingResult(ParkingOutcome.PARKED, ticket);
+    }
+
+    public static ParkingResult unparked(Ticket ticket) {
+        return new ParkingResult(ParkingOutcome.UNPARKED, ticket);
+    }
+
+    public static ParkingResult failure(ParkingOutcome outcome) {
+        return FAILURES.get(outcome);
+    }
+
+    public ParkingOutcome getOutcome() {
+        return outcome;
+    }
+
+    public Ticket getTicket() {
+        return ticket;
+    }
+
+    public boolean isSuccess() {
+        return ticket != null;
+    }
+}
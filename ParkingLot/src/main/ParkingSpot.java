@@ -1,42 +1,64 @@
 package main;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import main.exception.ParkingException;
 import main.vehicle.Vehicle;
 import main.vehicle.VehicleType;
 
 public class ParkingSpot {
     private int spotNumber;
     private VehicleType type;
-    private boolean isOccupied;
+    private int level;
+    private int position;
+    private final AtomicBoolean occupied;
 
     public ParkingSpot(int spotNumber, VehicleType type) {
+        this(spotNumber, type, 0, spotNumber);
+    }
+
+    public ParkingSpot(int spotNumber, VehicleType type, int level, int position) {
         this.spotNumber = spotNumber;
         this.type = type;
-        this.isOccupied = false;
+        this.level = level;
+        this.position = position;
+        this.occupied = new AtomicBoolean(false);
     }
 
     public int getSpotNumber() {
         return spotNumber;
     }
 
+    public int getLevel() {
+        return level;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
     public boolean isOccupied() {
-        return isOccupied;
+        return occupied.get();
     }
 
     public VehicleType getType() {
         return type;
     }
 
-    public void parkVehicle(Vehicle vehicle) throws Exception {
-        if (isOccupied) {
-            throw new Exception("Spot is already occupied");
+    public void parkVehicle(Vehicle vehicle) throws ParkingException {
+        if (!vehicle.getType().canFitIn(this.type)) {
+            throw new ParkingException("Vehicle does not fit in spot type " + type);
         }
-        if (vehicle.getType() != this.type) {
-            throw new Exception("Vehicle type does not match spot type");
+        if (!occupied.compareAndSet(false, true)) {
+            throw new ParkingException("Spot is already occupied");
         }
-        this.isOccupied = true;
+    }
+
+    public boolean tryOccupy(Vehicle vehicle) {
+        return vehicle.getType().canFitIn(this.type) && occupied.compareAndSet(false, true);
     }
 
     public void unparkVehicle() {
-        this.isOccupied = false;
+        occupied.set(false);
     }
 }
@@ -0,0 +1,27 @@
+package main;
+
+import main.vehicle.VehicleType;
+
+public class SiteAvailability {
+    private final String siteId;
+    private final VehicleType type;
+    private final int availableSpots;
+
+    public SiteAvailability(String siteId, VehicleType type, int availableSpots) {
+        this.siteId = siteId;
+        this.type = type;
+        this.availableSpots = availableSpots;
+    }
+
+    public String getSiteId() {
+        return siteId;
+    }
+
+    public VehicleType getType() {
+        return type;
+    }
+
+    public int getAvailableSpots() {
+        return availableSpots;
+    }
+}
@@ -0,0 +1,7 @@
+package main.exception;
+
+public class VehicleAlreadyParkedException extends ParkingException {
+    public VehicleAlreadyParkedException(String licensePlate) {
+        super("Vehicle with license plate " + licensePlate + " is already parked");
+    }
+}
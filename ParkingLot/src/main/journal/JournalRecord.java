@@ -0,0 +1,66 @@
+package main.journal;
+
+import java.time.ZoneId;
+
+import main.Ticket;
+import main.vehicle.VehicleType;
+
+public class JournalRecord {
+    public static final byte PARK = 1;
+    public static final byte UNPARK = 2;
+
+    private final byte eventType;
+    private final int ticketId;
+    private final int spotNumber;
+    private final VehicleType vehicleType;
+    private final String licensePlate;
+    private final long entryEpochMillis;
+
+    public JournalRecord(byte eventType, int ticketId, int spotNumber, VehicleType vehicleType,
+            String licensePlate, long entryEpochMillis) {
+        this.eventType = eventType;
+        this.ticketId = ticketId;
+        this.spotNumber = spotNumber;
+        this.vehicleType = vehicleType;
+        this.licensePlate = licensePlate;
+        this.entryEpochMillis = entryEpochMillis;
+    }
+
+    public static JournalRecord park(Ticket ticket) {
+        return of(PARK, ticket);
+    }
+
+    public static JournalRecord unpark(Ticket ticket) {
+        return of(UNPARK, ticket);
+    }
+
+    private static JournalRecord of(byte eventType, Ticket ticket) {
+        long entryEpochMillis = ticket.getEntryTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return new JournalRecord(eventType, ticket.getTicketId(), ticket.getParkingSpot().getSpotNumber(),
+                ticket.getVehicle().getType(), ticket.getVehicle().getLicensePlate(), entryEpochMillis);
+    }
+
+    public byte getEventType() {
+        return eventType;
+    }
+
+    public int getTicketId() {
+        return ticketId;
+    }
+
+    public int getSpotNumber() {
+        return spotNumber;
+    }
+
+    public VehicleType getVehicleType() {
+        return vehicleType;
+    }
+
+    public String getLicensePlate() {
+        return licensePlate;
+    }
+
+    public long getEntryEpochMillis() {
+        return entryEpochMillis;
+    }
+}
@@ -0,0 +1,244 @@
+package main.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import main.vehicle.VehicleType;
+
+public class ParkingJournal implements Closeable {
+    private static final String SNAPSHOT_FILE = "snapshot.dat";
+    private static final int RECORD_SIZE = 64;
+    private static final int PLATE_OFFSET = 20;
+    private static final int MAX_PLATE_BYTES = RECORD_SIZE - PLATE_OFFSET;
+    private static final long SEGMENT_SIZE = 16L * 1024 * 1024;
+    private static final long COMPACTION_THRESHOLD = 4 * SEGMENT_SIZE;
+    private static final long FLUSH_INTERVAL_MS = 5;
+
+    private final Path directory;
+    private final Supplier<Collection<JournalRecord>> activeRecords;
+    private final ScheduledExecutorService flusher;
+    private long generation;
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long segmentStart;
+    private long position;
+    private boolean dirty;
+    private int lastTicketId;
+
+    public ParkingJournal(Path directory, Supplier<Collection<JournalRecord>> activeRecords) throws IOException {
+        Files.createDirectories(directory);
+        this.directory = directory;
+        this.activeRecords = activeRecords;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "parking-journal-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public synchronized Map<String, JournalRecord> recover() throws IOException {
+        Map<String, JournalRecord> parked = new HashMap<>();
+        Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        if (Files.exists(snapshot)) {
+            try (FileChannel snapshotChannel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+                ByteBuffer header = ByteBuffer.allocate(Long.BYTES);
+                snapshotChannel.read(header, 0);
+                generation = header.getLong(0);
+                replay(snapshotChannel, RECORD_SIZE, parked);
+            }
+        }
+        channel = openJournalFile(generation);
+        position = replay(channel, 0, parked);
+        mapSegment(position);
+        flusher.scheduleWithFixedDelay(this::flushAndCompact, FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS,
+                TimeUnit.MILLISECONDS);
+        return parked;
+    }
+
+    public synchronized void recordPark(JournalRecord record) throws IOException {
+        append(record);
+    }
+
+    public synchronized void recordUnpark(JournalRecord record) throws IOException {
+        append(record);
+    }
+
+    public synchronized void recordAll(Collection<JournalRecord> records) throws IOException {
+        for (JournalRecord record : records) {
+            append(record);
+        }
+    }
+
+    public int getLastTicketId() {
+        return lastTicketId;
+    }
+
+    public synchronized void compact() throws IOException {
+        Collection<JournalRecord> records = activeRecords.get();
+        long nextGeneration = generation + 1;
+        FileChannel nextChannel = openJournalFile(nextGeneration);
+
+        ByteBuffer buffer = ByteBuffer.allocate((records.size() + 1) * RECORD_SIZE);
+        buffer.putLong(0, nextGeneration);
+        int at = RECORD_SIZE;
+        for (JournalRecord record : records) {
+            write(buffer, at, record);
+            at += RECORD_SIZE;
+        }
+        Path tempSnapshot = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try (FileChannel snapshotChannel = FileChannel.open(tempSnapshot, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                snapshotChannel.write(buffer);
+            }
+            snapshotChannel.force(true);
+        }
+        Files.move(tempSnapshot, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+
+        segment.force();
+        channel.close();
+        Files.deleteIfExists(journalFile(generation));
+        generation = nextGeneration;
+        channel = nextChannel;
+        position = 0;
+        mapSegment(0);
+        dirty = false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        flusher.shutdown();
+        synchronized (this) {
+            if (segment != null) {
+                segment.force();
+            }
+            if (channel != null) {
+                channel.close();
+            }
+        }
+    }
+
+    private void append(JournalRecord record) throws IOException {
+        if (segment == null) {
+            throw new IllegalStateException("Journal must be recovered before it is written");
+        }
+        if (position - segmentStart + RECORD_SIZE > SEGMENT_SIZE) {
+            segment.force();
+            mapSegment(position);
+        }
+        write(segment, (int) (position - segmentStart), record);
+        position += RECORD_SIZE;
+        lastTicketId = Math.max(lastTicketId, record.getTicketId());
+        dirty = true;
+    }
+
+    private void flushAndCompact() {
+        MappedByteBuffer toFlush;
+        boolean compactionDue;
+        synchronized (this) {
+            toFlush = dirty ? segment : null;
+            dirty = false;
+            compactionDue = position >= COMPACTION_THRESHOLD;
+        }
+        if (toFlush != null) {
+            toFlush.force();
+        }
+        if (compactionDue) {
+            try {
+                compact();
+            } catch (IOException e) {
+                System.err.println("Parking journal compaction failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private long replay(FileChannel source, long start, Map<String, JournalRecord> parked) throws IOException {
+        long size = source.size();
+        long offset = start;
+        while (offset < size) {
+            long length = Math.min(SEGMENT_SIZE, size - offset);
+            MappedByteBuffer buffer = source.map(FileChannel.MapMode.READ_ONLY, offset, length);
+            for (int at = 0; at + RECORD_SIZE <= length; at += RECORD_SIZE) {
+                JournalRecord record = read(buffer, at);
+                if (record == null) {
+                    return offset + at;
+                }
+                apply(record, parked);
+            }
+            offset += length;
+        }
+        return size;
+    }
+
+    private void apply(JournalRecord record, Map<String, JournalRecord> parked) {
+        lastTicketId = Math.max(lastTicketId, record.getTicketId());
+        if (record.getEventType() == JournalRecord.PARK) {
+            parked.put(record.getLicensePlate(), record);
+            return;
+        }
+        JournalRecord current = parked.get(record.getLicensePlate());
+        if (current != null && current.getTicketId() == record.getTicketId()) {
+            parked.remove(record.getLicensePlate());
+        }
+    }
+
+    private void mapSegment(long start) throws IOException {
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, start, SEGMENT_SIZE);
+        segmentStart = start;
+    }
+
+    private FileChannel openJournalFile(long journalGeneration) throws IOException {
+        return FileChannel.open(journalFile(journalGeneration), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+    }
+
+    private Path journalFile(long journalGeneration) {
+        return directory.resolve("journal-" + journalGeneration + ".dat");
+    }
+
+    private static void write(ByteBuffer buffer, int at, JournalRecord record) {
+        byte[] plate = record.getLicensePlate().getBytes(StandardCharsets.UTF_8);
+        if (plate.length > MAX_PLATE_BYTES) {
+            throw new IllegalArgumentException("License plate too long for journal: " + record.getLicensePlate());
+        }
+        buffer.put(at + 1, (byte) record.getVehicleType().ordinal());
+        buffer.putShort(at + 2, (short) plate.length);
+        buffer.putInt(at + 4, record.getTicketId());
+        buffer.putInt(at + 8, record.getSpotNumber());
+        buffer.putLong(at + 12, record.getEntryEpochMillis());
+        for (int i = 0; i < plate.length; i++) {
+            buffer.put(at + PLATE_OFFSET + i, plate[i]);
+        }
+        buffer.put(at, record.getEventType());
+    }
+
+    private static JournalRecord read(ByteBuffer buffer, int at) {
+        byte eventType = buffer.get(at);
+        if (eventType != JournalRecord.PARK && eventType != JournalRecord.UNPARK) {
+            return null;
+        }
+        VehicleType vehicleType = VehicleType.values()[buffer.get(at + 1)];
+        byte[] plate = new byte[buffer.getShort(at + 2)];
+        for (int i = 0; i < plate.length; i++) {
+            plate[i] = buffer.get(at + PLATE_OFFSET + i);
+        }
+        return new JournalRecord(eventType, buffer.getInt(at + 4), buffer.getInt(at + 8), vehicleType,
+                new String(plate, StandardCharsets.UTF_8), buffer.getLong(at + 12));
+    }
+}
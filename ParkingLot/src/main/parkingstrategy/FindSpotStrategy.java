@@ -1,10 +1,35 @@
 package main.parkingstrategy;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import main.Entrance;
 import main.ParkingSpot;
 import main.vehicle.VehicleType;
 
 public interface FindSpotStrategy {
     ParkingSpot findSpot(VehicleType type,List<ParkingSpot> parkingSpots);
+
+    default ParkingSpot findSpot(VehicleType type, Entrance entrance, List<ParkingSpot> parkingSpots) {
+        return findSpot(type, parkingSpots);
+    }
+
+    default List<ParkingSpot> findSpots(VehicleType type, int count, Entrance entrance,
+            List<ParkingSpot> parkingSpots) {
+        List<ParkingSpot> spots = new ArrayList<>(count);
+        while (spots.size() < count) {
+            ParkingSpot spot = findSpot(type, entrance, parkingSpots);
+            if (spot == null) {
+                break;
+            }
+            spots.add(spot);
+        }
+        return spots;
+    }
+
+    default void addSpot(ParkingSpot spot) {
+    }
+
+    default void releaseSpot(ParkingSpot spot) {
+    }
 }
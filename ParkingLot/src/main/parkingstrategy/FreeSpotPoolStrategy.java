@@ -0,0 +1,62 @@
+package main.parkingstrategy;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import main.Entrance;
+import main.ParkingSpot;
+import main.vehicle.VehicleType;
+
+public class FreeSpotPoolStrategy implements FindSpotStrategy {
+    private final Map<VehicleType, Queue<ParkingSpot>> freeSpots;
+
+    public FreeSpotPoolStrategy() {
+        freeSpots = new EnumMap<>(VehicleType.class);
+        for (VehicleType type : VehicleType.values()) {
+            freeSpots.put(type, new ConcurrentLinkedQueue<>());
+        }
+    }
+
+    @Override
+    public ParkingSpot findSpot(VehicleType type, List<ParkingSpot> parkingSpots) {
+        Queue<ParkingSpot> pool = freeSpots.get(type);
+        ParkingSpot spot = pool.poll();
+        while (spot != null && spot.isOccupied()) {
+            spot = pool.poll();
+        }
+        return spot;
+    }
+
+    @Override
+    public List<ParkingSpot> findSpots(VehicleType type, int count, Entrance entrance,
+            List<ParkingSpot> parkingSpots) {
+        Queue<ParkingSpot> pool = freeSpots.get(type);
+        List<ParkingSpot> spots = new ArrayList<>(count);
+        while (spots.size() < count) {
+            ParkingSpot spot = pool.poll();
+            if (spot == null) {
+                break;
+            }
+            if (!spot.isOccupied()) {
+                spots.add(spot);
+            }
+        }
+        return spots;
+    }
+
+    @Override
+    public void addSpot(ParkingSpot spot) {
+        if (!spot.isOccupied()) {
+            freeSpots.get(spot.getType()).offer(spot);
+        }
+    }
+
+    @Override
+    public void releaseSpot(ParkingSpot spot) {
+        freeSpots.get(spot.getType()).offer(spot);
+    }
+}
@@ -0,0 +1,95 @@
+package main.parkingstrategy;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import main.Entrance;
+import main.ParkingSpot;
+import main.vehicle.VehicleType;
+
+public class NearestSpotStrategy implements FindSpotStrategy {
+    private final Map<String, Map<VehicleType, NavigableSet<ParkingSpot>>> freeSpotsByEntrance;
+    private final Map<VehicleType, List<VehicleType>> compatibleSpotTypes;
+    private final Entrance defaultEntrance;
+
+    public NearestSpotStrategy(List<Entrance> entrances) {
+        if (entrances.isEmpty()) {
+            throw new IllegalArgumentException("At least one entrance is required");
+        }
+        this.defaultEntrance = entrances.get(0);
+        this.freeSpotsByEntrance = new LinkedHashMap<>();
+        for (Entrance entrance : entrances) {
+            Comparator<ParkingSpot> byDistance = Comparator
+                    .comparingInt((ParkingSpot spot) -> entrance.distanceTo(spot))
+                    .thenComparingInt(ParkingSpot::getSpotNumber);
+            Map<VehicleType, NavigableSet<ParkingSpot>> freeSpots = new EnumMap<>(VehicleType.class);
+            for (VehicleType type : VehicleType.values()) {
+                freeSpots.put(type, new ConcurrentSkipListSet<>(byDistance));
+            }
+            freeSpotsByEntrance.put(entrance.getId(), freeSpots);
+        }
+        this.compatibleSpotTypes = new EnumMap<>(VehicleType.class);
+        for (VehicleType vehicleType : VehicleType.values()) {
+            List<VehicleType> spotTypes = new ArrayList<>();
+            for (VehicleType spotType : VehicleType.values()) {
+                if (vehicleType.canFitIn(spotType)) {
+                    spotTypes.add(spotType);
+                }
+            }
+            spotTypes.sort(Comparator.comparingInt(VehicleType::getSize));
+            compatibleSpotTypes.put(vehicleType, spotTypes);
+        }
+    }
+
+    @Override
+    public ParkingSpot findSpot(VehicleType type, List<ParkingSpot> parkingSpots) {
+        return findSpot(type, defaultEntrance, parkingSpots);
+    }
+
+    @Override
+    public ParkingSpot findSpot(VehicleType type, Entrance entrance, List<ParkingSpot> parkingSpots) {
+        Map<VehicleType, NavigableSet<ParkingSpot>> freeSpots = entrance == null ? null
+                : freeSpotsByEntrance.get(entrance.getId());
+        if (freeSpots == null) {
+            freeSpots = freeSpotsByEntrance.get(defaultEntrance.getId());
+        }
+        for (VehicleType spotType : compatibleSpotTypes.get(type)) {
+            NavigableSet<ParkingSpot> candidates = freeSpots.get(spotType);
+            ParkingSpot spot = candidates.pollFirst();
+            while (spot != null && spot.isOccupied()) {
+                spot = candidates.pollFirst();
+            }
+            if (spot != null) {
+                removeFromAllEntrances(spot);
+                return spot;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void addSpot(ParkingSpot spot) {
+        if (!spot.isOccupied()) {
+            releaseSpot(spot);
+        }
+    }
+
+    @Override
+    public void releaseSpot(ParkingSpot spot) {
+        for (Map<VehicleType, NavigableSet<ParkingSpot>> freeSpots : freeSpotsByEntrance.values()) {
+            freeSpots.get(spot.getType()).add(spot);
+        }
+    }
+
+    private void removeFromAllEntrances(ParkingSpot spot) {
+        for (Map<VehicleType, NavigableSet<ParkingSpot>> freeSpots : freeSpotsByEntrance.values()) {
+            freeSpots.get(spot.getType()).remove(spot);
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package main.parkingstrategy;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import main.Entrance;
 import main.ParkingSpot;
 import main.vehicle.VehicleType;
 public class NormalStrategy implements FindSpotStrategy {
@@ -14,4 +16,19 @@ public class NormalStrategy implements FindSpotStrategy {
             }
             return null;
         }
+
+        @Override
+        public List<ParkingSpot> findSpots(VehicleType type, int count, Entrance entrance,
+                List<ParkingSpot> parkingSpots) {
+            List<ParkingSpot> spots = new ArrayList<>(count);
+            for (ParkingSpot spot : parkingSpots) {
+                if (spots.size() == count) {
+                    break;
+                }
+                if (!spot.isOccupied() && spot.getType() == type) {
+                    spots.add(spot);
+                }
+            }
+            return spots;
+        }
 }
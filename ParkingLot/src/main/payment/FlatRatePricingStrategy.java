@@ -4,13 +4,20 @@ import java.time.LocalDateTime;
 
 public class FlatRatePricingStrategy implements PricingStrategy {
     private double flatRate;
+    private long flatRateMinor;
 
     public FlatRatePricingStrategy(double flatRate) {
         this.flatRate = flatRate;
+        this.flatRateMinor = PricingStrategy.toMinorUnits(flatRate);
     }
 
     @Override
     public double calculateFee(LocalDateTime entryTime, LocalDateTime exitTime) {
         return flatRate;
     }
-}
\ No newline at end of file
+
+    @Override
+    public long calculateFee(long entryEpochMillis, long exitEpochMillis) {
+        return flatRateMinor;
+    }
+}
@@ -5,9 +5,11 @@ import java.time.temporal.ChronoUnit;
 
 public class HourlyPricingStrategy implements PricingStrategy {
     private double hourlyRate;
+    private long hourlyRateMinor;
 
     public HourlyPricingStrategy(double hourlyRate) {
         this.hourlyRate = hourlyRate;
+        this.hourlyRateMinor = PricingStrategy.toMinorUnits(hourlyRate);
     }
 
     @Override
@@ -19,5 +21,11 @@ public class HourlyPricingStrategy implements PricingStrategy {
         long hours = (minutes + 59) / 60;
         return hours * hourlyRate;
     }
+
+    @Override
+    public long calculateFee(long entryEpochMillis, long exitEpochMillis) {
+        long hours = (PricingStrategy.billableMinutes(entryEpochMillis, exitEpochMillis) + 59) / 60;
+        return hours * hourlyRateMinor;
+    }
 }
 
@@ -5,9 +5,11 @@ import java.time.temporal.ChronoUnit;
 
 public class MinuteBasedPricingStrategy implements PricingStrategy {
     private double ratePerMinute;
+    private long ratePerMinuteMinor;
 
     public MinuteBasedPricingStrategy(double ratePerMinute) {
         this.ratePerMinute = ratePerMinute;
+        this.ratePerMinuteMinor = PricingStrategy.toMinorUnits(ratePerMinute);
     }
 
     @Override
@@ -18,4 +20,9 @@ public class MinuteBasedPricingStrategy implements PricingStrategy {
         }
         return minutes * ratePerMinute;
     }
+
+    @Override
+    public long calculateFee(long entryEpochMillis, long exitEpochMillis) {
+        return PricingStrategy.billableMinutes(entryEpochMillis, exitEpochMillis) * ratePerMinuteMinor;
+    }
 }
@@ -1,20 +1,66 @@
 package main.payment;
 
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import main.Ticket;
+import main.exception.InvalidPaymentException;
+import main.vehicle.VehicleType;
+
 public class PaymentProcessor {
-    private double totalCollected;
+    private final RevenueLedger revenueLedger;
+    private final String gateId;
+    private final LongAdder totalCollectedMinor;
 
     public PaymentProcessor() {
-        this.totalCollected = 0;
+        this(new RevenueLedger(), null);
+    }
+
+    public PaymentProcessor(RevenueLedger revenueLedger, String gateId) {
+        this.revenueLedger = revenueLedger;
+        this.gateId = gateId;
+        this.totalCollectedMinor = new LongAdder();
+    }
+
+    public void processPayment(double amount) throws InvalidPaymentException {
+        processPayment(amount, null);
     }
 
-    public void processPayment(double amount) throws Exception {
+    public void processPayment(double amount, VehicleType type) throws InvalidPaymentException {
         if (amount < 0) {
-            throw new Exception("Invalid payment amount");
+            throw new InvalidPaymentException("Invalid payment amount");
+        }
+        long amountMinor = PricingStrategy.toMinorUnits(amount);
+        totalCollectedMinor.add(amountMinor);
+        revenueLedger.record(type, gateId, amountMinor, System.currentTimeMillis());
+    }
+
+    // A burst of exits reaches the ledger as one entry per vehicle type. Every amount is checked
+    // before any is recorded, so a bad ticket leaves the totals untouched.
+    public void processPayments(List<Ticket> tickets) throws InvalidPaymentException {
+        long[] amountMinorByType = new long[VehicleType.values().length];
+        long batchMinor = 0;
+        for (Ticket ticket : tickets) {
+            if (ticket.getAmount() < 0) {
+                throw new InvalidPaymentException("Invalid payment amount");
+            }
+            long amountMinor = PricingStrategy.toMinorUnits(ticket.getAmount());
+            amountMinorByType[ticket.getVehicle().getType().ordinal()] += amountMinor;
+            batchMinor += amountMinor;
+        }
+        if (tickets.isEmpty()) {
+            return;
+        }
+        totalCollectedMinor.add(batchMinor);
+        long now = System.currentTimeMillis();
+        for (VehicleType type : VehicleType.values()) {
+            if (amountMinorByType[type.ordinal()] > 0) {
+                revenueLedger.record(type, gateId, amountMinorByType[type.ordinal()], now);
+            }
         }
-        this.totalCollected += amount;
     }
 
     public double getTotalCollected() {
-        return totalCollected;
+        return (double) totalCollectedMinor.sum() / PricingStrategy.MINOR_UNITS_PER_MAJOR;
     }
 }
@@ -1,7 +1,28 @@
 package main.payment;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 
 public interface PricingStrategy {
+    long MINOR_UNITS_PER_MAJOR = 100;
+    long MILLIS_PER_MINUTE = 60_000;
+
     double calculateFee(LocalDateTime entryTime, LocalDateTime exitTime);
+
+    default long calculateFee(long entryEpochMillis, long exitEpochMillis) {
+        ZoneId zone = ZoneId.systemDefault();
+        double fee = calculateFee(LocalDateTime.ofInstant(Instant.ofEpochMilli(entryEpochMillis), zone),
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(exitEpochMillis), zone));
+        return Math.round(fee * MINOR_UNITS_PER_MAJOR);
+    }
+
+    static long toMinorUnits(double amount) {
+        return Math.round(amount * MINOR_UNITS_PER_MAJOR);
+    }
+
+    static long billableMinutes(long entryEpochMillis, long exitEpochMillis) {
+        long minutes = (exitEpochMillis - entryEpochMillis) / MILLIS_PER_MINUTE;
+        return minutes == 0 ? 1 : minutes;
+    }
 }
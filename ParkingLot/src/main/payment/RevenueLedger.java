@@ -0,0 +1,58 @@
+package main.payment;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import main.vehicle.VehicleType;
+
+public class RevenueLedger {
+    private final RollingRevenue overall;
+    private final Map<VehicleType, RollingRevenue> byType;
+    private final Map<String, RollingRevenue> byGate;
+
+    public RevenueLedger() {
+        this.overall = new RollingRevenue();
+        this.byType = new EnumMap<>(VehicleType.class);
+        for (VehicleType type : VehicleType.values()) {
+            byType.put(type, new RollingRevenue());
+        }
+        this.byGate = new ConcurrentHashMap<>();
+    }
+
+    public void record(VehicleType type, String gateId, long amountMinor, long epochMillis) {
+        overall.record(amountMinor, epochMillis);
+        if (type != null) {
+            byType.get(type).record(amountMinor, epochMillis);
+        }
+        if (gateId != null) {
+            byGate.computeIfAbsent(gateId, id -> new RollingRevenue()).record(amountMinor, epochMillis);
+        }
+    }
+
+    public long getTotalRevenue() {
+        return overall.getTotal();
+    }
+
+    public long getRevenue(VehicleType type) {
+        return byType.get(type).getTotal();
+    }
+
+    public long getRevenueForGate(String gateId) {
+        RollingRevenue gate = byGate.get(gateId);
+        return gate == null ? 0 : gate.getTotal();
+    }
+
+    public long getRevenue(RevenueWindow window, long epochMillis) {
+        return overall.get(window, epochMillis);
+    }
+
+    public long getRevenue(VehicleType type, RevenueWindow window, long epochMillis) {
+        return byType.get(type).get(window, epochMillis);
+    }
+
+    public long getRevenueForGate(String gateId, RevenueWindow window, long epochMillis) {
+        RollingRevenue gate = byGate.get(gateId);
+        return gate == null ? 0 : gate.get(window, epochMillis);
+    }
+}
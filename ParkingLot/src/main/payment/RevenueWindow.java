@@ -0,0 +1,28 @@
+package main.payment;
+
+public enum RevenueWindow {
+    MINUTE(60_000L),
+    HOUR(3_600_000L),
+    DAY(86_400_000L);
+
+    // Each window is kept as this many slices; a query sums the trailing ones.
+    static final int SLICES = 60;
+
+    private final long lengthMillis;
+
+    RevenueWindow(long lengthMillis) {
+        this.lengthMillis = lengthMillis;
+    }
+
+    public long getLengthMillis() {
+        return lengthMillis;
+    }
+
+    public long getSliceMillis() {
+        return lengthMillis / SLICES;
+    }
+
+    long sliceOf(long epochMillis) {
+        return Math.floorDiv(epochMillis, getSliceMillis());
+    }
+}
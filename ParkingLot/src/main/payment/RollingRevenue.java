@@ -0,0 +1,78 @@
+package main.payment;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+class RollingRevenue {
+    private static final RevenueWindow[] WINDOWS = RevenueWindow.values();
+
+    private final LongAdder total;
+    private final Map<RevenueWindow, AtomicReferenceArray<Bucket>> buckets;
+
+    RollingRevenue() {
+        this.total = new LongAdder();
+        this.buckets = new EnumMap<>(RevenueWindow.class);
+        for (RevenueWindow window : WINDOWS) {
+            buckets.put(window, new AtomicReferenceArray<>(RevenueWindow.SLICES));
+        }
+    }
+
+    void record(long amountMinor, long epochMillis) {
+        total.add(amountMinor);
+        for (RevenueWindow window : WINDOWS) {
+            bucketFor(buckets.get(window), window.sliceOf(epochMillis)).amount.add(amountMinor);
+        }
+    }
+
+    long getTotal() {
+        return total.sum();
+    }
+
+    // The window trailing epochMillis: its slice and the SLICES - 1 before it. The oldest slice
+    // boundary rounds the start up, so the sum covers at least 59/60 of the window's length.
+    long get(RevenueWindow window, long epochMillis) {
+        long newest = window.sliceOf(epochMillis);
+        AtomicReferenceArray<Bucket> ring = buckets.get(window);
+        long sum = 0;
+        for (int slot = 0; slot < ring.length(); slot++) {
+            Bucket bucket = ring.get(slot);
+            if (bucket != null && bucket.period <= newest && bucket.period > newest - ring.length()) {
+                sum += bucket.amount.sum();
+            }
+        }
+        return sum;
+    }
+
+    private static Bucket bucketFor(AtomicReferenceArray<Bucket> ring, long period) {
+        int slot = slot(ring, period);
+        while (true) {
+            Bucket current = ring.get(slot);
+            if (current != null && current.period == period) {
+                return current;
+            }
+            if (current != null && current.period > period) {
+                return new Bucket(period);
+            }
+            Bucket fresh = new Bucket(period);
+            if (ring.compareAndSet(slot, current, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private static int slot(AtomicReferenceArray<Bucket> ring, long period) {
+        return (int) Math.floorMod(period, (long) ring.length());
+    }
+
+    private static class Bucket {
+        private final long period;
+        private final LongAdder amount;
+
+        Bucket(long period) {
+            this.period = period;
+            this.amount = new LongAdder();
+        }
+    }
+}
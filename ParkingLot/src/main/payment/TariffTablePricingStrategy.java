@@ -0,0 +1,68 @@
+package main.payment;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+public class TariffTablePricingStrategy implements PricingStrategy {
+    private static final int HOURS_PER_DAY = 24;
+    private static final int MINUTES_PER_HOUR = 60;
+    private static final int MINUTES_PER_DAY = HOURS_PER_DAY * MINUTES_PER_HOUR;
+
+    private final long[] cumulativeCharge;
+    private final long fullDayFee;
+    private final long dailyCapMinor;
+    private final long gracePeriodMillis;
+    private final long offsetMillis;
+    private final ZoneOffset offset;
+
+    public TariffTablePricingStrategy(double[] hourlyRates, double dailyCap, int gracePeriodMinutes,
+            ZoneOffset offset) {
+        if (hourlyRates.length != HOURS_PER_DAY) {
+            throw new IllegalArgumentException("Expected " + HOURS_PER_DAY + " hourly rates");
+        }
+        this.cumulativeCharge = new long[MINUTES_PER_DAY + 1];
+        for (int minute = 0; minute < MINUTES_PER_DAY; minute++) {
+            long perMinuteCharge = PricingStrategy.toMinorUnits(hourlyRates[minute / MINUTES_PER_HOUR]);
+            cumulativeCharge[minute + 1] = cumulativeCharge[minute] + perMinuteCharge;
+        }
+        this.dailyCapMinor = dailyCap > 0 ? PricingStrategy.toMinorUnits(dailyCap) : Long.MAX_VALUE;
+        this.fullDayFee = capped(cumulativeCharge[MINUTES_PER_DAY]);
+        this.gracePeriodMillis = gracePeriodMinutes * MILLIS_PER_MINUTE;
+        this.offset = offset;
+        this.offsetMillis = offset.getTotalSeconds() * 1000L;
+    }
+
+    @Override
+    public double calculateFee(LocalDateTime entryTime, LocalDateTime exitTime) {
+        long entryEpochMillis = entryTime.toEpochSecond(offset) * 1000 + entryTime.getNano() / 1_000_000;
+        long exitEpochMillis = exitTime.toEpochSecond(offset) * 1000 + exitTime.getNano() / 1_000_000;
+        return (double) calculateFee(entryEpochMillis, exitEpochMillis) / MINOR_UNITS_PER_MAJOR;
+    }
+
+    @Override
+    public long calculateFee(long entryEpochMillis, long exitEpochMillis) {
+        if (exitEpochMillis - entryEpochMillis <= gracePeriodMillis) {
+            return 0;
+        }
+        long startMinute = Math.floorDiv(entryEpochMillis + offsetMillis, MILLIS_PER_MINUTE);
+        long endMinute = startMinute + PricingStrategy.billableMinutes(entryEpochMillis, exitEpochMillis);
+
+        long startDay = Math.floorDiv(startMinute, MINUTES_PER_DAY);
+        long endDay = Math.floorDiv(endMinute, MINUTES_PER_DAY);
+        int startMinuteOfDay = Math.toIntExact(Math.floorMod(startMinute, MINUTES_PER_DAY));
+        int endMinuteOfDay = Math.toIntExact(Math.floorMod(endMinute, MINUTES_PER_DAY));
+
+        if (startDay == endDay) {
+            return capped(cumulativeCharge[endMinuteOfDay] - cumulativeCharge[startMinuteOfDay]);
+        }
+        long firstDay = capped(cumulativeCharge[MINUTES_PER_DAY] - cumulativeCharge[startMinuteOfDay]);
+        long fullDays = (endDay - startDay - 1) * fullDayFee;
+        long lastDay = capped(cumulativeCharge[endMinuteOfDay]);
+        return firstDay + fullDays + lastDay;
+    }
+
+    private long capped(long chargeInSixtieths) {
+        long charge = (chargeInSixtieths + MINUTES_PER_HOUR - 1) / MINUTES_PER_HOUR;
+        return Math.min(charge, dailyCapMinor);
+    }
+}
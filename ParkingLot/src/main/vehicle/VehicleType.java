@@ -1,7 +1,21 @@
 package main.vehicle;
 
 public enum VehicleType {
-    CAR,
-    BIKE,
-    TRUCK
+    CAR(2),
+    BIKE(1),
+    TRUCK(3);
+
+    private final int size;
+
+    VehicleType(int size) {
+        this.size = size;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean canFitIn(VehicleType spotType) {
+        return spotType.size >= size;
+    }
 }